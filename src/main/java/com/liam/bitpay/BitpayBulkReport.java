@@ -0,0 +1,51 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Dr.Liam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package com.liam.bitpay;
+
+import java.time.Duration;
+
+/**
+ * The outcome of a {@link BitpayBulkSender} run.
+ *
+ * @param sent the requests for which the gateway created a payment session
+ * @param rejected the requests the gateway answered with one of the {@link BitpaySendErrorCodes};
+ *                 these are retried by the next run
+ * @param failed the requests that were rejected locally before calling the gateway;
+ *               these are retried by the next run
+ * @param uncertain the requests that failed after they may have reached the gateway, such as on a
+ *                  timeout; these are only retried by a sender built with {@code retryUncertain(true)}
+ * @param skipped the requests already recorded by a previous run
+ * @param elapsed the wall-clock duration of the run
+ */
+public record BitpayBulkReport(
+  long sent,
+  long rejected,
+  long failed,
+  long uncertain,
+  long skipped,
+  Duration elapsed
+) {
+}
@@ -0,0 +1,315 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Dr.Liam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package com.liam.bitpay;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Builder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Generates payment links in bulk, for example for fundraising campaigns, by calling
+ * {@link BitpayClient#send(BitpaySend)} for every request of a stream.
+ * <p>
+ * Requests are read lazily and sent with bounded concurrency and an optional rate limit,
+ * so only the requests in flight are held in memory. A resumed run also keeps the position
+ * of every request it skips, which grows with the completed part of the campaign (some tens
+ * of megabytes for a million requests). Each outcome is appended to an NDJSON output file as
+ * soon as it is known:
+ * <pre>
+ * {"index":0,"factorId":"D-1","result":12345,"redirectUrl":"https://bitpay.ir/payment/gateway-12345-get"}
+ * {"index":1,"factorId":"D-2","error":"Invalid mobile number"}
+ * {"index":2,"factorId":"D-3","uncertain":"I/O error on POST request for ...: Read timed out"}
+ * {"index":3,"factorId":"D-4","result":-5}
+ * </pre>
+ * An {@code error} is a request rejected locally before the gateway was called. An
+ * {@code uncertain} outcome is a failure after the request may have reached the gateway,
+ * such as a read timeout or an unreadable response, so a payment session may exist.
+ * <p>
+ * The output file doubles as the checkpoint: when a run is restarted with the same input
+ * and output, every request with a recorded payment session (a positive {@code result}) is
+ * skipped. Requests the gateway rejected with a negative code, which creates no session,
+ * are sent again together with locally failed and unprocessed requests, so a run made with a
+ * wrong API key or during a gateway outage can simply be repeated. Uncertain requests are skipped too, so
+ * that donors do not receive two links, unless the sender is built with
+ * {@code retryUncertain(true)} after they have been checked. Requests are identified by their
+ * position in the input, so the input must be replayed in the same order. A crash can still
+ * duplicate the sessions of at most {@code concurrency} requests that were accepted by the
+ * gateway but not yet written.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * try (Stream<BitpaySend> donors = BitpayBulkSources.csv(Path.of("donors.csv"))) {
+ *   BitpayBulkReport report = BitpayBulkSender.builder()
+ *     .client(bitpayClient)
+ *     .concurrency(16)
+ *     .permitsPerSecond(50)
+ *     .build()
+ *     .run(donors, Path.of("links.ndjson"));
+ * }
+ * }</pre>
+ */
+public class BitpayBulkSender {
+  private final BitpayClient client;
+  private final int concurrency;
+  private final double permitsPerSecond;
+  private final boolean retryUncertain;
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Creates a bulk sender. Use {@link #builder()}.
+   *
+   * @param client the client used to call {@code gateway-send}
+   * @param concurrency the largest number of requests in flight; defaults to 8
+   * @param permitsPerSecond the largest number of requests started per second, or 0 for no limit
+   * @param retryUncertain whether requests with an {@code uncertain} outcome are sent again
+   */
+  @Builder
+  private BitpayBulkSender(BitpayClient client, int concurrency, double permitsPerSecond,
+                           boolean retryUncertain) {
+    if (client == null) {
+      throw new IllegalArgumentException("Client is required");
+    }
+    this.client = client;
+    this.concurrency = concurrency > 0 ? concurrency : 8;
+    this.permitsPerSecond = permitsPerSecond;
+    this.retryUncertain = retryUncertain;
+    this.objectMapper = Jackson2ObjectMapperBuilder.json()
+      .serializationInclusion(JsonInclude.Include.NON_NULL)
+      .build();
+  }
+
+  /**
+   * Sends every request of the stream that is not yet recorded in the output file,
+   * appending each outcome to it.
+   *
+   * @param sends the payment requests, in a stable order across runs
+   * @param output the NDJSON output and checkpoint file; created if it does not exist
+   * @return the counts of this run
+   * @throws IOException if the output file cannot be read or written; the run stops at the
+   *         first failed write
+   * @throws InterruptedException if the calling thread is interrupted; requests in flight
+   *         are still recorded before this method returns
+   */
+  public BitpayBulkReport run(Stream<BitpaySend> sends, Path output) throws IOException, InterruptedException {
+    Set<Long> completed = readCheckpoint(output);
+    repairTrailingLine(output);
+
+    AtomicLong sent = new AtomicLong();
+    AtomicLong rejected = new AtomicLong();
+    AtomicLong failed = new AtomicLong();
+    AtomicLong uncertain = new AtomicLong();
+    AtomicReference<IOException> writeFailure = new AtomicReference<>();
+    long skipped = 0;
+    long start = System.nanoTime();
+
+    RatePacer pacer = permitsPerSecond > 0 ? new RatePacer(permitsPerSecond, false) : null;
+    Semaphore inFlight = new Semaphore(concurrency);
+    ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+    try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8,
+      StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+      try {
+        Iterator<BitpaySend> iterator = sends.iterator();
+        for (long index = 0; iterator.hasNext() && writeFailure.get() == null; index++) {
+          BitpaySend bitpaySend = iterator.next();
+          if (completed.contains(index)) {
+            skipped++;
+            continue;
+          }
+          inFlight.acquire();
+          if (pacer != null) {
+            pacer.acquire();
+          }
+
+          long position = index;
+          executor.execute(() -> {
+            try {
+              BulkLine line = send(position, bitpaySend);
+              if (line.error() != null) {
+                failed.incrementAndGet();
+              } else if (line.uncertain() != null) {
+                uncertain.incrementAndGet();
+              } else if (line.result() > 0) {
+                sent.incrementAndGet();
+              } else {
+                rejected.incrementAndGet();
+              }
+              write(writer, line);
+            } catch (UncheckedIOException e) {
+              writeFailure.compareAndSet(null, e.getCause());
+            } finally {
+              inFlight.release();
+            }
+          });
+        }
+      } finally {
+        executor.shutdown();
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+      }
+    }
+    if (writeFailure.get() != null) {
+      throw writeFailure.get();
+    }
+
+    return new BitpayBulkReport(sent.get(), rejected.get(), failed.get(), uncertain.get(), skipped,
+      Duration.ofNanos(System.nanoTime() - start));
+  }
+
+  /**
+   * Sends one request and describes its outcome. {@link BitpayClient#send(BitpaySend)} throws
+   * {@link IllegalArgumentException} only for requests it rejects before calling the gateway;
+   * any other exception may follow a request that reached the gateway.
+   *
+   * @param index the position of the request in the input
+   * @param bitpaySend the request
+   * @return the output line for the request
+   */
+  private BulkLine send(long index, BitpaySend bitpaySend) {
+    try {
+      SendResult result = client.send(bitpaySend);
+      return new BulkLine(index, bitpaySend.getFactorId(), result.getResult(),
+        result.getResult() > 0 ? result.getRedirectUrl() : null, null, null);
+    } catch (IllegalArgumentException e) {
+      return new BulkLine(index, bitpaySend.getFactorId(), null, null, describe(e), null);
+    } catch (RuntimeException e) {
+      return new BulkLine(index, bitpaySend.getFactorId(), null, null, null, describe(e));
+    }
+  }
+
+  /**
+   * Describes a failure for the output file.
+   *
+   * @param e the failure
+   * @return the exception message, or the exception class if it has no message
+   */
+  private static String describe(RuntimeException e) {
+    return e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+  }
+
+  /**
+   * Appends one line to the output and flushes it, so that it survives a crash of the process.
+   *
+   * @param writer the output writer
+   * @param line the line to append
+   */
+  private void write(BufferedWriter writer, BulkLine line) {
+    try {
+      String json = objectMapper.writeValueAsString(line);
+      synchronized (writer) {
+        writer.write(json);
+        writer.newLine();
+        writer.flush();
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Reads the positions of every request with a recorded payment session, and of
+   * every uncertain request unless those are retried. Lines that cannot be parsed, such as a
+   * line cut short by a crash, are ignored. Bytes that are not valid UTF-8, such as a character
+   * cut in half by a crash, are replaced rather than failing the read.
+   *
+   * @param output the output file of a previous run
+   * @return the positions to skip
+   * @throws IOException if the file exists but cannot be read
+   */
+  private Set<Long> readCheckpoint(Path output) throws IOException {
+    Set<Long> completed = new HashSet<>();
+    if (!Files.exists(output)) {
+      return completed;
+    }
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(output),
+      StandardCharsets.UTF_8.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE)))) {
+      for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+        try {
+          JsonNode node = objectMapper.readTree(line);
+          if (node != null && node.hasNonNull("index")
+            && (node.path("result").asLong() > 0 || (!retryUncertain && node.hasNonNull("uncertain")))) {
+            completed.add(node.get("index").asLong());
+          }
+        } catch (JsonProcessingException e) {
+          // Partially written line from an interrupted run; the request is sent again.
+        }
+      }
+    }
+    return completed;
+  }
+
+  /**
+   * Terminates a line cut short by a crash, so that new lines are not appended to it.
+   *
+   * @param output the output file
+   * @throws IOException if the file cannot be read or written
+   */
+  private static void repairTrailingLine(Path output) throws IOException {
+    if (!Files.exists(output) || Files.size(output) == 0) {
+      return;
+    }
+    try (RandomAccessFile file = new RandomAccessFile(output.toFile(), "rw")) {
+      file.seek(file.length() - 1);
+      if (file.read() != '\n') {
+        file.write('\n');
+      }
+    }
+  }
+
+  /**
+   * One line of the NDJSON output: a gateway {@code result}, a local {@code error} or an
+   * {@code uncertain} failure after the request may have reached the gateway.
+   */
+  private record BulkLine(long index, String factorId, Integer result, String redirectUrl, String error,
+                          String uncertain) {
+  }
+}
@@ -0,0 +1,257 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Dr.Liam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package com.liam.bitpay;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Lazily reads {@link BitpaySend} requests from files, for use with {@link BitpayBulkSender}.
+ * <p>
+ * The returned streams read the file record by record and hold it open until they are
+ * closed, so they should be used in a try-with-resources block. Blank lines are skipped.
+ */
+public final class BitpayBulkSources {
+  private static final String BYTE_ORDER_MARK = "\uFEFF";
+  private static final ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json().build();
+
+  private BitpayBulkSources() {
+  }
+
+  /**
+   * Reads one JSON object per line, with the property names of {@link BitpaySend},
+   * for example {@code {"amount":"10000","redirect":"https://...","factorId":"D-1"}}.
+   *
+   * @param path the NDJSON file
+   * @return a lazy stream of requests
+   * @throws IOException if the file cannot be opened
+   */
+  public static Stream<BitpaySend> ndjson(Path path) throws IOException {
+    return Files.lines(path, StandardCharsets.UTF_8)
+      .filter(line -> !line.isBlank())
+      .map(line -> {
+        try {
+          return OBJECT_MAPPER.readValue(line, BitpaySend.class);
+        } catch (JsonProcessingException e) {
+          throw new UncheckedIOException("Invalid NDJSON line: " + line, e);
+        }
+      });
+  }
+
+  /**
+   * Reads a comma-separated file whose header row names the {@link BitpaySend} properties
+   * of each column ({@code amount}, {@code redirect}, {@code factorId}, {@code name},
+   * {@code email}, {@code description}, {@code mobileNum}, {@code cardNum}). Fields may be
+   * enclosed in double quotes, with {@code ""} standing for a literal quote; whitespace around
+   * a field is ignored, but whitespace inside quotes is kept. A quoted field may span several
+   * lines, as spreadsheets write descriptions with line breaks; each line break is read as
+   * {@code \n}. Empty fields are read as absent. A leading UTF-8 byte order mark, as written by
+   * spreadsheet exports, is ignored.
+   *
+   * @param path the CSV file
+   * @return a lazy stream of requests
+   * @throws IOException if the file cannot be opened or has no header row
+   * @throws IllegalArgumentException if the header names an unknown column; a quote left open
+   *         at the end of the file is reported the same way when the stream reaches it
+   */
+  public static Stream<BitpaySend> csv(Path path) throws IOException {
+    Stream<String> lines = Files.lines(path, StandardCharsets.UTF_8);
+    try {
+      Iterator<String> iterator = records(lines.iterator());
+      if (!iterator.hasNext()) {
+        throw new IOException("Missing CSV header: " + path);
+      }
+      String headerLine = iterator.next();
+      if (headerLine.startsWith(BYTE_ORDER_MARK)) {
+        headerLine = headerLine.substring(BYTE_ORDER_MARK.length());
+      }
+      List<String> header = parseCsvRecord(headerLine);
+      header.forEach(BitpayBulkSources::checkColumn);
+
+      // The header has been consumed from the shared iterator, so continue from it.
+      Iterable<String> rest = () -> iterator;
+      return StreamSupport.stream(rest.spliterator(), false)
+        .filter(record -> !record.isBlank())
+        .map(record -> toBitpaySend(header, parseCsvRecord(record)))
+        .onClose(lines::close);
+    } catch (IOException | RuntimeException e) {
+      lines.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Joins the lines of a quoted field that spans several lines into one record.
+   *
+   * @param lines the lines of the file
+   * @return the records of the file
+   */
+  private static Iterator<String> records(Iterator<String> lines) {
+    return new Iterator<>() {
+      @Override
+      public boolean hasNext() {
+        return lines.hasNext();
+      }
+
+      @Override
+      public String next() {
+        if (!lines.hasNext()) {
+          throw new NoSuchElementException();
+        }
+        String line = lines.next();
+        if (!isQuoteOpen(line)) {
+          return line;
+        }
+        StringBuilder record = new StringBuilder(line);
+        do {
+          if (!lines.hasNext()) {
+            throw new IllegalArgumentException("Unterminated quote in CSV record: " + record);
+          }
+          record.append('\n').append(lines.next());
+        } while (isQuoteOpen(record));
+        return record.toString();
+      }
+    };
+  }
+
+  /**
+   * Tells whether a record ends inside a quoted field. An escaped quote ({@code ""}) counts
+   * twice, so an odd number of quotes means the last one is still open.
+   */
+  private static boolean isQuoteOpen(CharSequence record) {
+    boolean open = false;
+    for (int i = 0; i < record.length(); i++) {
+      if (record.charAt(i) == '"') {
+        open = !open;
+      }
+    }
+    return open;
+  }
+
+  private static void checkColumn(String column) {
+    switch (column) {
+      case "amount", "redirect", "factorId", "name", "email", "description", "mobileNum", "cardNum" -> {
+      }
+      default -> throw new IllegalArgumentException("Unknown CSV column: " + column);
+    }
+  }
+
+  private static BitpaySend toBitpaySend(List<String> header, List<String> values) {
+    BitpaySend.BitpaySendBuilder builder = BitpaySend.builder();
+    for (int i = 0; i < header.size() && i < values.size(); i++) {
+      String value = values.get(i).isEmpty() ? null : values.get(i);
+      switch (header.get(i)) {
+        case "amount" -> builder.amount(value);
+        case "redirect" -> builder.redirect(value);
+        case "factorId" -> builder.factorId(value);
+        case "name" -> builder.name(value);
+        case "email" -> builder.email(value);
+        case "description" -> builder.description(value);
+        case "mobileNum" -> builder.mobileNum(value);
+        case "cardNum" -> builder.cardNum(value);
+        default -> throw new IllegalArgumentException("Unknown CSV column: " + header.get(i));
+      }
+    }
+    return builder.build();
+  }
+
+  private static List<String> parseCsvRecord(String record) {
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    // The quoted part of the current field, in field positions, which is never trimmed.
+    int quotedFrom = -1;
+    int quotedTo = -1;
+    for (int i = 0; i < record.length(); i++) {
+      char c = record.charAt(i);
+      if (quoted) {
+        if (c == '"' && i + 1 < record.length() && record.charAt(i + 1) == '"') {
+          field.append('"');
+          i++;
+        } else if (c == '"') {
+          quoted = false;
+          quotedTo = field.length();
+        } else {
+          field.append(c);
+        }
+      } else if (c == '"') {
+        quoted = true;
+        if (quotedFrom < 0) {
+          quotedFrom = field.length();
+        }
+      } else if (c == ',') {
+        fields.add(trimUnquoted(field, quotedFrom, quotedTo));
+        field.setLength(0);
+        quotedFrom = -1;
+        quotedTo = -1;
+      } else {
+        field.append(c);
+      }
+    }
+    if (quoted) {
+      // An unterminated quote runs to the end of the record.
+      quotedTo = field.length();
+    }
+    fields.add(trimUnquoted(field, quotedFrom, quotedTo));
+    return fields;
+  }
+
+  /**
+   * Trims the whitespace of a field that lies outside its quoted part.
+   *
+   * @param field the field, without its quotes
+   * @param quotedFrom where the quoted part starts, or -1 if the field is not quoted
+   * @param quotedTo where the quoted part ends
+   * @return the trimmed field
+   */
+  private static String trimUnquoted(StringBuilder field, int quotedFrom, int quotedTo) {
+    if (quotedFrom < 0) {
+      return field.toString().trim();
+    }
+    int start = 0;
+    while (start < quotedFrom && field.charAt(start) <= ' ') {
+      start++;
+    }
+    int end = field.length();
+    while (end > quotedTo && field.charAt(end - 1) <= ' ') {
+      end--;
+    }
+    return field.substring(start, end);
+  }
+}
@@ -25,11 +25,16 @@
 
 package com.liam.bitpay;
 
+import java.time.Duration;
+import java.util.Optional;
+
+import lombok.Builder;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
 
 /**
  * A client for interacting with the Bitpay payment gateway.
@@ -64,6 +69,12 @@ public class BitpayClient {
    * utilized internally within the BitpayClient class for configuring and handling API responses.
    */
   private static final String JSON_ENABLED = "1";
+  /**
+   * The payment status the gateway reports for a successful, final payment. Only results
+   * with this status are shared through the {@link BitpayResultStore}; error statuses may be
+   * transient (for example a key rotation or a callback racing payment completion).
+   */
+  private static final int PAYMENT_SUCCESS = 1;
 
   /**
    * An instance of {@link RestClient} used for making REST API calls to the Bitpay service.
@@ -85,6 +96,33 @@ public class BitpayClient {
    * and managing redirects within the BitpayClient.
    */
   private final String baseUrl;
+  /**
+   * The store used to make sure only one caller, across all nodes sharing the store,
+   * performs the gateway call for a given transaction. When {@code null}, every call
+   * to {@link #get(BitpayGet)} goes straight to the gateway.
+   */
+  private final BitpayResultStore resultStore;
+  /**
+   * The timing settings for claiming, waiting on and caching verification results.
+   * Only used when {@link #resultStore} is set.
+   */
+  private final BitpayProperties.Store storeProperties;
+  /**
+   * Routes API calls across several base URLs by latency and health. When {@code null},
+   * API calls use the base URL configured on {@link #restClient}. Browser redirect URLs
+   * always use {@link #baseUrl}, regardless of routing.
+   */
+  private final BitpayEndpointRouter router;
+  /**
+   * Validates payment requests against the gateway's rules before they are sent.
+   * When {@code null}, only the presence of the amount and redirect URL is checked.
+   */
+  private final BitpaySendValidator sendValidator;
+  /**
+   * Whether flight recorder events are suppressed for this client. Only used for
+   * synthetic traffic, such as {@link BitpayWarmup}, that must not show up as gateway calls.
+   */
+  private final boolean suppressEvents;
 
   /**
    * Constructs a new {@code BitpayClient} that interacts with the Bitpay API.
@@ -94,9 +132,38 @@ public class BitpayClient {
    * @param baseUrl the base URL for the Bitpay API
    */
   public BitpayClient(RestClient restClient, String apiKey, String baseUrl) {
+    this(restClient, apiKey, baseUrl, null, null, null, null, false);
+  }
+
+  /**
+   * Constructs a new {@code BitpayClient} with optional collaborators. Use {@link #builder()};
+   * only {@code restClient}, {@code apiKey} and {@code baseUrl} are required.
+   *
+   * @param restClient the {@code RestClient} instance used to send HTTP requests
+   * @param apiKey the API key for authenticating with the Bitpay service
+   * @param baseUrl the base URL for the Bitpay API
+   * @param resultStore the shared claim/result store; without one, verifications are not deduplicated
+   * @param storeProperties the claim, wait and result timings used with the store; defaults to
+   *                        {@link BitpayProperties.Store#defaults()}
+   * @param router the router choosing the base URL of each API call; without one, API calls use
+   *               the base URL configured on {@code restClient}
+   * @param sendValidator the pre-flight validator for payment requests; without one, only the
+   *                      presence of the amount and redirect URL is checked
+   * @param suppressEvents whether to skip {@link BitpayGatewayEvent}s for this client's calls
+   */
+  @Builder
+  private BitpayClient(RestClient restClient, String apiKey, String baseUrl,
+                       BitpayResultStore resultStore, BitpayProperties.Store storeProperties,
+                       BitpayEndpointRouter router, BitpaySendValidator sendValidator,
+                       boolean suppressEvents) {
     this.restClient = restClient;
     this.apiKey = apiKey;
     this.baseUrl = baseUrl;
+    this.resultStore = resultStore;
+    this.storeProperties = storeProperties != null ? storeProperties : BitpayProperties.Store.defaults();
+    this.router = router;
+    this.sendValidator = sendValidator;
+    this.suppressEvents = suppressEvents;
   }
 
   /**
@@ -111,48 +178,124 @@ public class BitpayClient {
    *         and the associated redirect URL, allowing the client to navigate
    *         to the appropriate page based on the operation's outcome.
    * @throws IllegalArgumentException if any required BitpaySend attributes
-   *         (e.g., amount or redirect) are missing or invalid.
+   *         (e.g., amount or redirect) are missing or invalid, in which case
+   *         the gateway is not called.
    * @throws RuntimeException if there are issues with the response format or
    *         if the response body is missing.
    */
   public SendResult send(BitpaySend bitpaySend) {
     validateBitpaySend(bitpaySend);
 
-    MultiValueMap<String, String> formData = buildSendFormData(bitpaySend);
+    BitpayGatewayEvent event = new BitpayGatewayEvent("send", bitpaySend.getFactorId());
+    try {
+      MultiValueMap<String, String> formData = buildSendFormData(bitpaySend);
 
-    ResponseEntity<String> response = restClient.post()
-      .uri(GATEWAY_SEND_URI)
-      .contentType(MediaType.APPLICATION_FORM_URLENCODED)
-      .body(formData)
-      .retrieve()
-      .toEntity(String.class);
+      ResponseEntity<String> response = postForm(GATEWAY_SEND_URI, formData, String.class, event);
 
-    int resultCode = handleSendResponse(response);
+      int resultCode = handleSendResponse(response);
+      event.resultCode = resultCode;
 
-    return SendResult.builder()
-      .result(resultCode)
-      .redirectUrl(getRedirectUrl(resultCode))
-      .build();
+      return SendResult.builder()
+        .result(resultCode)
+        .redirectUrl(getRedirectUrl(resultCode))
+        .build();
+    } catch (RuntimeException e) {
+      event.failure = e.toString();
+      throw e;
+    } finally {
+      commit(event);
+    }
   }
 
   /**
    * Retrieves the result of a BitPay operation using the provided {@link BitpayGet} object.
+   * <p>
+   * When a {@link BitpayResultStore} is configured, only one caller claims the
+   * verification of a transaction and calls the gateway; concurrent callers, possibly
+   * on other nodes, wait for and return the stored result instead.
    *
    * @param bitpayGet an object containing the required information for retrieving the payment result, such as
    *                  transaction ID, ID for the get request, and factor ID.
    * @return the result of the BitPay operation, encapsulated in a {@link BitpayGetResult} object, which includes
    *         information like status, amount, card number, and factor ID.
-   * @throws RuntimeException if the response body is null or if there is an error indicated by the response status.
+   * @throws RuntimeException if the response body is null, if there is an error indicated by the response status,
+   *         or if another caller's verification did not complete within the configured wait timeout.
    */
   public BitpayGetResult get(BitpayGet bitpayGet) {
+    BitpayGatewayEvent event = new BitpayGatewayEvent("get", bitpayGet.getFactorId());
+    try {
+      BitpayGetResult result = resultStore == null
+        ? fetchResult(bitpayGet, event)
+        : claimOrAwaitResult(bitpayGet, event);
+      event.resultCode = result.getStatus();
+      return result;
+    } catch (RuntimeException e) {
+      event.failure = e.toString();
+      throw e;
+    } finally {
+      commit(event);
+    }
+  }
+
+  /**
+   * Returns the stored result of a payment, calling the gateway if this caller wins
+   * the claim on the verification, or waiting for the caller that did.
+   *
+   * @param bitpayGet the transaction ID, retrieval ID and factor ID of the payment
+   * @param event the flight recorder event of the call
+   * @return the stored or freshly retrieved result
+   * @throws RuntimeException if the gateway call fails or the wait times out
+   */
+  private BitpayGetResult claimOrAwaitResult(BitpayGet bitpayGet, BitpayGatewayEvent event) {
+    String key = resultKey(bitpayGet);
+    long start = System.nanoTime();
+    long deadline = start + storeProperties.waitTimeout().toNanos();
+    while (true) {
+      Optional<BitpayGetResult> stored = resultStore.find(key);
+      if (stored.isPresent()) {
+        event.waitTime = System.nanoTime() - start;
+        event.fromStore = true;
+        return stored.get();
+      }
+
+      Optional<String> owner = resultStore.claim(key, storeProperties.claimTtl());
+      if (owner.isPresent()) {
+        event.waitTime = System.nanoTime() - start;
+        BitpayGetResult result;
+        try {
+          result = fetchResult(bitpayGet, event);
+        } catch (RuntimeException e) {
+          resultStore.release(key, owner.get());
+          throw e;
+        }
+        if (result.getStatus() == PAYMENT_SUCCESS) {
+          resultStore.complete(key, owner.get(), result);
+        } else {
+          resultStore.release(key, owner.get());
+        }
+        return result;
+      }
+
+      if (System.nanoTime() >= deadline) {
+        throw new RuntimeException("Timed out waiting for payment result: " + bitpayGet.getTransId());
+      }
+      awaitPoll(storeProperties.pollInterval());
+    }
+  }
+
+  /**
+   * Calls the gateway to retrieve the result of a payment, bypassing the result store.
+   *
+   * @param bitpayGet the transaction ID, retrieval ID and factor ID of the payment
+   * @param event the flight recorder event of the call
+   * @return the result returned by the gateway
+   * @throws RuntimeException if the response body is null or if there is an error indicated by the response status.
+   */
+  private BitpayGetResult fetchResult(BitpayGet bitpayGet, BitpayGatewayEvent event) {
     MultiValueMap<String, String> formData = buildGetFormData(bitpayGet);
 
-    ResponseEntity<BitpayGetResult> response = restClient.post()
-      .uri(GATEWAY_RESULT_URI)
-      .contentType(MediaType.APPLICATION_FORM_URLENCODED)
-      .body(formData)
-      .retrieve()
-      .toEntity(BitpayGetResult.class);
+    ResponseEntity<BitpayGetResult> response =
+      postForm(GATEWAY_RESULT_URI, formData, BitpayGetResult.class, event);
 
     validateResponse(response, "Error getting payment");
 
@@ -164,14 +307,121 @@ public class BitpayClient {
     return body;
   }
 
+  /**
+   * Posts form data to a gateway endpoint. When a router is configured, the call goes to
+   * the selected base URL and its outcome is fed back into the router's statistics. The
+   * gateway reports rejections as negative codes in a successful response, so any error
+   * status, including a 4xx from a proxy on the egress path, counts as an endpoint failure.
+   *
+   * @param path the gateway path, relative to the base URL
+   * @param formData the form data to post
+   * @param responseType the type the response body is converted to
+   * @param event the flight recorder event of the call
+   * @param <T> the response body type
+   * @return the response entity
+   * @throws RestClientException if the call fails or the response cannot be read
+   */
+  private <T> ResponseEntity<T> postForm(String path, MultiValueMap<String, String> formData, Class<T> responseType,
+                                         BitpayGatewayEvent event) {
+    if (router == null) {
+      return exchange(path, formData, responseType, event);
+    }
+
+    BitpayEndpointRouter.Endpoint endpoint = router.select();
+    long start = System.nanoTime();
+    try {
+      ResponseEntity<T> response = exchange(endpoint.url() + path, formData, responseType, event);
+      endpoint.recordSuccess(System.nanoTime() - start);
+      return response;
+    } catch (RestClientException e) {
+      endpoint.recordFailure(System.nanoTime() - start);
+      throw e;
+    }
+  }
+
+  /**
+   * Executes a single form POST with the underlying {@link RestClient}.
+   *
+   * @param uri the relative or absolute request URI
+   * @param formData the form data to post
+   * @param responseType the type the response body is converted to
+   * @param event the flight recorder event of the call, handed to {@link BitpayGatewayEventInterceptor}
+   *              only while it is enabled
+   * @param <T> the response body type
+   * @return the response entity
+   */
+  private <T> ResponseEntity<T> exchange(String uri, MultiValueMap<String, String> formData, Class<T> responseType,
+                                         BitpayGatewayEvent event) {
+    RestClient.RequestBodySpec request = restClient.post()
+      .uri(uri)
+      .contentType(MediaType.APPLICATION_FORM_URLENCODED);
+    if (!suppressEvents && event.isEnabled()) {
+      request.attribute(BitpayGatewayEvent.ATTRIBUTE, event);
+    }
+    return request
+      .body(formData)
+      .retrieve()
+      .toEntity(responseType);
+  }
+
+  /**
+   * Ends a flight recorder event and commits it if the recording settings select it
+   * and events are not suppressed for this client.
+   *
+   * @param event the event to commit
+   */
+  private void commit(BitpayGatewayEvent event) {
+    if (suppressEvents) {
+      return;
+    }
+    event.end();
+    if (event.shouldCommit()) {
+      event.commit();
+    }
+  }
+
+  /**
+   * Builds the result store key for a verification. The retrieval ID is part of the
+   * key so that a stored result is only ever returned to callers that could have
+   * obtained it from the gateway themselves.
+   *
+   * @param bitpayGet the verification request
+   * @return the key identifying the verification in the result store
+   */
+  private static String resultKey(BitpayGet bitpayGet) {
+    return bitpayGet.getTransId() + ":" + bitpayGet.getIdGet();
+  }
+
+  /**
+   * Sleeps between two polls of the result store.
+   *
+   * @param pollInterval the time to sleep
+   * @throws RuntimeException if the thread is interrupted while waiting
+   */
+  private static void awaitPoll(Duration pollInterval) {
+    try {
+      Thread.sleep(pollInterval.toMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while waiting for payment result", e);
+    }
+  }
+
   /**
    * Validates the provided BitpaySend object for required fields.
-   * Ensures that the amount and redirect properties are not null or empty.
+   * Ensures that the amount and redirect properties are not null or empty and,
+   * when a {@link BitpaySendValidator} is configured, that the request passes the
+   * gateway's format rules.
    *
    * @param bitpaySend the BitpaySend object containing the details for validation
-   * @throws IllegalArgumentException if the amount or redirect fields are null or empty
+   * @throws IllegalArgumentException if the amount or redirect fields are null or empty,
+   *         or if the request is certain to be rejected by the gateway
    */
   private void validateBitpaySend(BitpaySend bitpaySend) {
+    if (sendValidator != null) {
+      sendValidator.validate(bitpaySend);
+      return;
+    }
     if (bitpaySend.getAmount() == null || bitpaySend.getAmount().isEmpty()) {
       throw new IllegalArgumentException("Amount is required");
     }
@@ -25,9 +25,19 @@
 
 package com.liam.bitpay;
 
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.web.client.RestClient;
 
 /**
@@ -49,13 +59,78 @@ public class BitpayConfiguration {
 
   @Bean
   RestClient restClient(RestClient.Builder builder) {
+    BitpayProperties.Logging logging = bitpayProperties.logging();
+    if (logging.enabled()) {
+      builder.requestInterceptor(new BitpayLoggingInterceptor(logging.sampleRate(), logging.maskedFields()));
+    }
+    // Registered last so it sits closest to the transport and its exchange time
+    // excludes the buffering and masking done by the interceptors above.
+    builder.requestInterceptor(new BitpayGatewayEventInterceptor());
+
     return builder
       .baseUrl(bitpayProperties.baseUrl())
       .build();
   }
 
   @Bean
-  BitpayClient bitpayClient(RestClient restClient) {
-    return new BitpayClient(restClient, bitpayProperties.apiKey(), bitpayProperties.baseUrl());
+  BitpayClient bitpayClient(RestClient restClient, ObjectProvider<BitpayResultStore> resultStore) {
+    BitpayEndpointRouter router = bitpayProperties.baseUrls().isEmpty()
+      ? null
+      : new BitpayEndpointRouter(bitpayProperties.baseUrls(), bitpayProperties.routing());
+    return BitpayClient.builder()
+      .restClient(restClient)
+      .apiKey(bitpayProperties.apiKey())
+      .baseUrl(bitpayProperties.baseUrl())
+      .resultStore(resultStore.getIfAvailable())
+      .storeProperties(bitpayProperties.store())
+      .router(router)
+      .sendValidator(new BitpaySendValidator(bitpayProperties.validation()))
+      .build();
+  }
+
+  @Bean
+  @ConditionalOnProperty(prefix = "bitpay.warmup", name = "enabled", havingValue = "true")
+  BitpayWarmup bitpayWarmup(RestClient restClient) {
+    List<String> baseUrls = bitpayProperties.baseUrls().isEmpty()
+      ? List.of(bitpayProperties.baseUrl())
+      : bitpayProperties.baseUrls();
+    return new BitpayWarmup(restClient, baseUrls, bitpayProperties.warmup(),
+      bitpayProperties.validation(), bitpayProperties.routing());
+  }
+
+  /**
+   * Registers the default, node-local {@link BitpayResultStore}.
+   */
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnProperty(prefix = "bitpay.store", name = "type", havingValue = "memory", matchIfMissing = true)
+  static class InMemoryResultStoreConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(BitpayResultStore.class)
+    BitpayResultStore bitpayResultStore(BitpayProperties bitpayProperties) {
+      return new InMemoryBitpayResultStore(bitpayProperties.store().resultTtl());
+    }
+  }
+
+  /**
+   * Registers a {@link JdbcBitpayResultStore} on the application's {@link DataSource},
+   * sharing verification claims and results across every node that uses it.
+   */
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnClass(JdbcTemplate.class)
+  @ConditionalOnProperty(prefix = "bitpay.store", name = "type", havingValue = "jdbc")
+  static class JdbcResultStoreConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(BitpayResultStore.class)
+    BitpayResultStore bitpayResultStore(BitpayProperties bitpayProperties, DataSource dataSource) {
+      BitpayProperties.Store store = bitpayProperties.store();
+      JdbcBitpayResultStore resultStore =
+        new JdbcBitpayResultStore(dataSource, store.tableName(), store.resultTtl());
+      if (store.initializeSchema()) {
+        resultStore.initializeSchema();
+      }
+      return resultStore;
+    }
   }
 }
@@ -0,0 +1,198 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Dr.Liam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package com.liam.bitpay;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Routes gateway calls across several base URLs (egress paths or proxies) that
+ * reach the same Bitpay gateway.
+ * <p>
+ * Each endpoint tracks an exponentially weighted moving average (EWMA) of its
+ * latency and of its error rate. {@link #select()} picks the healthy endpoint with
+ * the lowest latency average, occasionally exploring another healthy endpoint so
+ * that a recovered path can win traffic back. An endpoint whose error rate crosses
+ * the configured threshold is ejected for a cool-down period and then re-admitted
+ * with a clean error history. If every endpoint is ejected, the one closest to
+ * re-admission is used rather than failing without a call.
+ */
+public class BitpayEndpointRouter {
+  private final List<Endpoint> endpoints;
+  private final BitpayProperties.Routing routing;
+
+  /**
+   * Constructs a new {@code BitpayEndpointRouter}.
+   *
+   * @param baseUrls the base URLs to route between; must not be empty
+   * @param routing the EWMA, ejection and exploration settings
+   * @throws IllegalArgumentException if no base URL is given
+   */
+  public BitpayEndpointRouter(List<String> baseUrls, BitpayProperties.Routing routing) {
+    if (baseUrls == null || baseUrls.isEmpty()) {
+      throw new IllegalArgumentException("At least one base URL is required");
+    }
+    this.endpoints = baseUrls.stream()
+      .map(url -> new Endpoint(url.endsWith("/") ? url.substring(0, url.length() - 1) : url, routing))
+      .toList();
+    this.routing = routing;
+  }
+
+  /**
+   * Returns every endpoint known to this router, in configuration order.
+   *
+   * @return the routed endpoints
+   */
+  public List<Endpoint> endpoints() {
+    return endpoints;
+  }
+
+  /**
+   * Selects the endpoint for the next gateway call.
+   *
+   * @return the healthy endpoint with the lowest latency average, a random healthy
+   *         endpoint when exploring, or the endpoint closest to re-admission if all are ejected
+   */
+  public Endpoint select() {
+    long now = System.nanoTime();
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    boolean explore = endpoints.size() > 1 && random.nextDouble() < routing.explorationRate();
+
+    Endpoint best = null;
+    Endpoint soonestReadmitted = null;
+    int healthy = 0;
+    for (Endpoint endpoint : endpoints) {
+      if (endpoint.isEjected(now)) {
+        if (soonestReadmitted == null || endpoint.ejectedUntil - soonestReadmitted.ejectedUntil < 0) {
+          soonestReadmitted = endpoint;
+        }
+        continue;
+      }
+      healthy++;
+      if (explore) {
+        // Reservoir sampling: uniform choice among healthy endpoints in a single pass.
+        if (random.nextInt(healthy) == 0) {
+          best = endpoint;
+        }
+      } else if (best == null || endpoint.latencyNanos < best.latencyNanos) {
+        best = endpoint;
+      }
+    }
+    return best != null ? best : soonestReadmitted;
+  }
+
+  /**
+   * A single routed base URL and its latency and error statistics.
+   */
+  public static final class Endpoint {
+    private final String url;
+    private final BitpayProperties.Routing routing;
+
+    private volatile double latencyNanos;
+    private volatile double errorRate;
+    private volatile boolean ejected;
+    private volatile long ejectedUntil;
+    private int samples;
+
+    private Endpoint(String url, BitpayProperties.Routing routing) {
+      this.url = url;
+      this.routing = routing;
+    }
+
+    /**
+     * Returns the base URL of this endpoint, without a trailing slash.
+     *
+     * @return the base URL
+     */
+    public String url() {
+      return url;
+    }
+
+    /**
+     * Returns the latency average of this endpoint.
+     *
+     * @return the EWMA of call latency in nanoseconds, or 0 if no call completed yet
+     */
+    public double latencyNanos() {
+      return latencyNanos;
+    }
+
+    /**
+     * Returns the error rate average of this endpoint.
+     *
+     * @return the EWMA of the failure rate, between 0.0 and 1.0
+     */
+    public double errorRate() {
+      return errorRate;
+    }
+
+    /**
+     * Tells whether this endpoint is currently ejected from routing.
+     *
+     * @param now the current {@link System#nanoTime()} reading
+     * @return {@code true} if the endpoint is still cooling down after an ejection
+     */
+    public boolean isEjected(long now) {
+      // nanoTime() readings may be negative, so an unset deadline cannot be told apart by value.
+      return ejected && ejectedUntil - now > 0;
+    }
+
+    /**
+     * Records a call that reached the gateway through this endpoint.
+     *
+     * @param elapsedNanos the duration of the call
+     */
+    public synchronized void recordSuccess(long elapsedNanos) {
+      record(elapsedNanos, 0.0);
+    }
+
+    /**
+     * Records a call that failed because of this endpoint (I/O error, timeout,
+     * error status or unreadable response), ejecting it if its error rate crosses
+     * the configured threshold.
+     *
+     * @param elapsedNanos the duration of the failed call
+     */
+    public synchronized void recordFailure(long elapsedNanos) {
+      record(elapsedNanos, 1.0);
+      if (samples >= routing.minSamples() && errorRate > routing.errorRateThreshold()) {
+        ejectedUntil = System.nanoTime() + routing.ejectionDuration().toNanos();
+        ejected = true;
+        errorRate = 0.0;
+        samples = 0;
+      }
+    }
+
+    private void record(long elapsedNanos, double error) {
+      double alpha = routing.ewmaAlpha();
+      latencyNanos = samples == 0 && latencyNanos == 0.0
+        ? elapsedNanos
+        : alpha * elapsedNanos + (1 - alpha) * latencyNanos;
+      errorRate = alpha * error + (1 - alpha) * errorRate;
+      samples++;
+    }
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Dr.Liam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package com.liam.bitpay;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A Java Flight Recorder event emitted by {@link BitpayClient} for every {@code send}
+ * and {@code get} call that reaches the gateway or the result store.
+ * <p>
+ * The event is disabled by default and costs next to nothing until it is enabled in
+ * the JFR settings, for example with a {@code .jfc} file containing
+ * {@code <event name="com.liam.bitpay.GatewayCall"><setting name="enabled">true</setting></event>}
+ * or with {@code Recording.enable("com.liam.bitpay.GatewayCall")}. The event's duration
+ * covers the whole call, so it lines up with GC pauses and thread activity in the same recording.
+ */
+@Name("com.liam.bitpay.GatewayCall")
+@Label("Bitpay Gateway Call")
+@Category("Bitpay")
+@Description("A send or get call made through BitpayClient")
+@Enabled(false)
+@StackTrace(false)
+public class BitpayGatewayEvent extends Event {
+  /**
+   * The request attribute under which the in-flight event is handed to
+   * {@link BitpayGatewayEventInterceptor}. Only set while the event is enabled.
+   */
+  static final String ATTRIBUTE = BitpayGatewayEvent.class.getName();
+
+  @Label("Operation")
+  @Description("The client operation: send or get")
+  String operation;
+
+  @Label("Endpoint")
+  @Description("The gateway URI called, or empty if the result came from the result store")
+  String endpoint;
+
+  @Label("Result Code")
+  @Description("The payment ID or BitpaySendErrorCodes value for send; the payment status for get")
+  int resultCode;
+
+  @Label("Factor ID")
+  String factorId;
+
+  @Label("From Result Store")
+  @Description("Whether a get was answered from the result store without calling the gateway")
+  boolean fromStore;
+
+  @Label("Request Bytes")
+  @DataAmount
+  long requestBytes;
+
+  @Label("Response Bytes")
+  @Description("The response Content-Length, or -1 if unknown")
+  @DataAmount
+  long responseBytes;
+
+  @Label("Wait Time")
+  @Description("Time spent waiting on the result store for another caller's verification")
+  @Timespan(Timespan.NANOSECONDS)
+  long waitTime;
+
+  @Label("Exchange Time")
+  @Description("Time spent in the HTTP transport, from acquiring a connection until the response headers arrived")
+  @Timespan(Timespan.NANOSECONDS)
+  long exchangeTime;
+
+  @Label("Failure")
+  @Description("The exception that ended the call, if any")
+  String failure;
+
+  /**
+   * Creates an event for a client operation and starts its timing.
+   *
+   * @param operation the client operation, {@code send} or {@code get}
+   * @param factorId the factor ID of the payment
+   */
+  BitpayGatewayEvent(String operation, String factorId) {
+    this.operation = operation;
+    this.factorId = factorId;
+    this.responseBytes = -1;
+    begin();
+  }
+}
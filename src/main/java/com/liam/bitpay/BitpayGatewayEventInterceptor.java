@@ -0,0 +1,65 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Dr.Liam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package com.liam.bitpay;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * A {@link ClientHttpRequestInterceptor} that fills the transport measurements of the
+ * {@link BitpayGatewayEvent} attached to a request: the endpoint, the request and response
+ * sizes and the time spent in the HTTP transport.
+ * <p>
+ * {@link BitpayClient} only attaches an event while the event is enabled in JFR, so
+ * otherwise this interceptor is a single map lookup per request. It should be the last
+ * interceptor of the {@code RestClient}, so that the measured exchange time does not
+ * include the work of other interceptors such as {@link BitpayLoggingInterceptor}.
+ */
+public class BitpayGatewayEventInterceptor implements ClientHttpRequestInterceptor {
+
+  @Override
+  public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+    throws IOException {
+    if (!(request.getAttributes().get(BitpayGatewayEvent.ATTRIBUTE) instanceof BitpayGatewayEvent event)) {
+      return execution.execute(request, body);
+    }
+
+    event.endpoint = request.getURI().toString();
+    event.requestBytes = body.length;
+    long start = System.nanoTime();
+    try {
+      ClientHttpResponse response = execution.execute(request, body);
+      event.responseBytes = response.getHeaders().getContentLength();
+      return response;
+    } finally {
+      event.exchangeTime = System.nanoTime() - start;
+    }
+  }
+}
@@ -43,7 +43,7 @@ import lombok.Data;
  * - cardNum: Represents the card number involved in the operation.
  * - factorId: Represents the identifier for specific transaction factors.
  */
-@Builder
+@Builder(toBuilder = true)
 @Data
 public class BitpayGetResult {
   /**
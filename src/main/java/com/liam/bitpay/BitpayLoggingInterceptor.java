@@ -0,0 +1,194 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Dr.Liam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package com.liam.bitpay;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+/**
+ * A {@link ClientHttpRequestInterceptor} that logs sampled Bitpay request/response
+ * pairs with sensitive fields masked.
+ * <p>
+ * Every exchange is written as a single DEBUG event on the {@code com.liam.bitpay.wire}
+ * logger. All arguments are fully rendered, immutable strings, so the event can be handed
+ * to an asynchronous appender without holding on to request or response buffers.
+ * <p>
+ * Exchanges that are not sampled, or that happen while the wire logger is not enabled
+ * for DEBUG, are passed straight through: the response body is only buffered when the
+ * exchange is actually going to be logged.
+ */
+public class BitpayLoggingInterceptor implements ClientHttpRequestInterceptor {
+  /**
+   * The logger that receives wire events. It is separate from the package logger so
+   * that wire logging can be routed to its own (typically asynchronous) appender.
+   */
+  private static final Logger log = LoggerFactory.getLogger("com.liam.bitpay.wire");
+  /**
+   * The replacement written in place of every masked value.
+   */
+  private static final String MASK = "****";
+
+  /**
+   * The fraction of exchanges, between {@code 0.0} and {@code 1.0}, that are logged.
+   */
+  private final double sampleRate;
+  /**
+   * Matches masked fields in {@code application/x-www-form-urlencoded} bodies.
+   */
+  private final Pattern formPattern;
+  /**
+   * Matches masked string or numeric fields in JSON bodies.
+   */
+  private final Pattern jsonPattern;
+
+  /**
+   * Constructs a new {@code BitpayLoggingInterceptor}.
+   *
+   * @param sampleRate the fraction of exchanges to log, clamped to {@code [0.0, 1.0]}
+   * @param maskedFields the names of form and JSON fields whose values must never be logged
+   */
+  public BitpayLoggingInterceptor(double sampleRate, List<String> maskedFields) {
+    this.sampleRate = Math.max(0.0, Math.min(1.0, sampleRate));
+
+    String names = maskedFields.stream()
+      .map(Pattern::quote)
+      .collect(Collectors.joining("|"));
+    this.formPattern = Pattern.compile("(^|&)(" + names + ")=[^&]*");
+    this.jsonPattern = Pattern.compile("(\"(?:" + names + ")\"\\s*:\\s*)(\"[^\"]*\"|[^,}\\s]+)");
+  }
+
+  @Override
+  public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+    throws IOException {
+    if (!log.isDebugEnabled() || !isSampled()) {
+      return execution.execute(request, body);
+    }
+
+    long start = System.nanoTime();
+    ClientHttpResponse response;
+    try {
+      response = execution.execute(request, body);
+    } catch (IOException | RuntimeException e) {
+      log.debug("{} {} failed after {} ms: {}\n> {}", request.getMethod(), request.getURI(),
+        elapsedMillis(start), e.toString(), mask(body));
+      throw e;
+    }
+
+    BufferedResponse buffered = new BufferedResponse(response, StreamUtils.copyToByteArray(response.getBody()));
+    log.debug("{} {} -> {} in {} ms\n> {}\n< {}", request.getMethod(), request.getURI(),
+      buffered.getStatusCode().value(), elapsedMillis(start), mask(body), mask(buffered.body));
+    return buffered;
+  }
+
+  /**
+   * Decides whether the current exchange should be logged.
+   *
+   * @return {@code true} if the exchange falls within the configured sample rate
+   */
+  private boolean isSampled() {
+    return sampleRate >= 1.0 || (sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+  }
+
+  /**
+   * Renders a request or response body as text with all configured fields masked.
+   *
+   * @param body the raw body bytes
+   * @return the masked body, or an empty string if there is no body
+   */
+  String mask(byte[] body) {
+    if (body.length == 0) {
+      return "";
+    }
+    String text = new String(body, StandardCharsets.UTF_8);
+    text = formPattern.matcher(text).replaceAll("$1$2=" + MASK);
+    return jsonPattern.matcher(text).replaceAll("$1\"" + MASK + "\"");
+  }
+
+  /**
+   * Calculates the milliseconds elapsed since the given {@link System#nanoTime()} reading.
+   *
+   * @param start the start time in nanoseconds
+   * @return the elapsed time in milliseconds
+   */
+  private static long elapsedMillis(long start) {
+    return (System.nanoTime() - start) / 1_000_000;
+  }
+
+  /**
+   * A {@link ClientHttpResponse} that replays an already-consumed body, so the
+   * message converters can still read it after it has been logged.
+   */
+  private static final class BufferedResponse implements ClientHttpResponse {
+    private final ClientHttpResponse delegate;
+    private final byte[] body;
+
+    private BufferedResponse(ClientHttpResponse delegate, byte[] body) {
+      this.delegate = delegate;
+      this.body = body;
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() throws IOException {
+      return delegate.getStatusCode();
+    }
+
+    @Override
+    public String getStatusText() throws IOException {
+      return delegate.getStatusText();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+      return delegate.getHeaders();
+    }
+
+    @Override
+    public InputStream getBody() {
+      return new ByteArrayInputStream(body);
+    }
+
+    @Override
+    public void close() {
+      delegate.close();
+    }
+  }
+}
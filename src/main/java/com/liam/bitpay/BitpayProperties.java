@@ -25,7 +25,11 @@
 
 package com.liam.bitpay;
 
+import java.time.Duration;
+import java.util.List;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
 import org.springframework.boot.context.properties.bind.DefaultValue;
 
 /**
@@ -36,12 +40,247 @@ import org.springframework.boot.context.properties.bind.DefaultValue;
  *
  * Properties:
  * - baseUrl: The base URL of the BitPay service. Defaults to "https://bitpay.ir".
+ *   This canonical public URL is always used for browser redirects.
+ * - baseUrls: Optional alternative base URLs (egress paths or proxies) for API calls.
+ *   When set, each call is routed to the fastest healthy one instead of baseUrl.
  * - apiKey: The API key used for authenticating requests with the BitPay service.
+ * - logging: Sampled, masked wire logging of gateway exchanges. Disabled by default.
+ * - store: The shared claim/result store used to deduplicate payment verifications.
+ * - routing: Latency and health tracking settings used when baseUrls is set.
+ * - warmup: Optional connection and hot-path warmup at application startup.
+ * - validation: Local pre-flight validation rules for payment requests.
  */
 @ConfigurationProperties(prefix = "bitpay")
 public record BitpayProperties(
   @DefaultValue("https://bitpay.ir")
   String baseUrl,
-  String apiKey
+  String apiKey,
+  @DefaultValue
+  List<String> baseUrls,
+  @DefaultValue
+  Logging logging,
+  @DefaultValue
+  Store store,
+  @DefaultValue
+  Routing routing,
+  @DefaultValue
+  Warmup warmup,
+  @DefaultValue
+  Validation validation
 ) {
+
+  /**
+   * Creates properties for the given endpoint and API key, with every other setting at
+   * its default value.
+   *
+   * @param baseUrl the base URL of the BitPay service
+   * @param apiKey the API key used for authenticating requests
+   */
+  public BitpayProperties(String baseUrl, String apiKey) {
+    this(baseUrl, apiKey, List.of(), Logging.defaults(), Store.defaults(), Routing.defaults(),
+      Warmup.defaults(), Validation.defaults());
+  }
+
+  /**
+   * The canonical constructor, used by Spring Boot to bind the {@code bitpay.*} properties.
+   */
+  @ConstructorBinding
+  public BitpayProperties {
+  }
+
+  /**
+   * Wire logging settings for the Bitpay {@code RestClient}.
+   * <p>
+   * When {@code enabled} is {@code false} no interceptor is registered at all, so
+   * disabled logging adds no overhead to gateway calls.
+   *
+   * @param enabled whether the logging interceptor is registered
+   * @param sampleRate the fraction of exchanges, between 0.0 and 1.0, that are logged
+   * @param maskedFields the form and JSON field names whose values are masked
+   */
+  public record Logging(
+    @DefaultValue("false")
+    boolean enabled,
+    @DefaultValue("1.0")
+    double sampleRate,
+    @DefaultValue({"api", "cardNum", "mobileNum"})
+    List<String> maskedFields
+  ) {
+
+    /**
+     * Returns the settings used when no {@code bitpay.logging.*} property is set.
+     *
+     * @return the default settings
+     */
+    public static Logging defaults() {
+      return new Logging(false, 1.0, List.of("api", "cardNum", "mobileNum"));
+    }
+  }
+
+  /**
+   * Settings for the {@link BitpayResultStore} used by {@code BitpayClient.get}.
+   *
+   * @param type the store implementation to auto-configure
+   * @param claimTtl how long a verification claim is held before another caller may take it over
+   * @param resultTtl how long a completed result is served from the store
+   * @param waitTimeout how long a caller waits for another caller's verification to complete; must be
+   *                    longer than {@code claimTtl}, so waiters outlive the claim of an owner that died
+   * @param pollInterval how often a waiting caller checks the store for the result
+   * @param tableName the table used by the JDBC store
+   * @param initializeSchema whether the JDBC store creates its table on startup
+   */
+  public record Store(
+    @DefaultValue("memory")
+    StoreType type,
+    @DefaultValue("30s")
+    Duration claimTtl,
+    @DefaultValue("1h")
+    Duration resultTtl,
+    @DefaultValue("45s")
+    Duration waitTimeout,
+    @DefaultValue("100ms")
+    Duration pollInterval,
+    @DefaultValue("bitpay_result")
+    String tableName,
+    @DefaultValue("false")
+    boolean initializeSchema
+  ) {
+
+    /**
+     * Checks that a waiting caller can outlive the claim it is waiting on.
+     *
+     * @throws IllegalArgumentException if {@code waitTimeout} is not longer than {@code claimTtl}
+     */
+    public Store {
+      if (waitTimeout.compareTo(claimTtl) <= 0) {
+        throw new IllegalArgumentException("bitpay.store.wait-timeout (" + waitTimeout
+          + ") must be longer than bitpay.store.claim-ttl (" + claimTtl + ")");
+      }
+    }
+
+    /**
+     * Returns the settings used when no {@code bitpay.store.*} property is set.
+     *
+     * @return the default settings
+     */
+    public static Store defaults() {
+      return new Store(StoreType.MEMORY, Duration.ofSeconds(30), Duration.ofHours(1), Duration.ofSeconds(45),
+        Duration.ofMillis(100), "bitpay_result", false);
+    }
+  }
+
+  /**
+   * Settings for {@link BitpayEndpointRouter}, used when several base URLs are configured.
+   *
+   * @param ewmaAlpha the weight of the newest sample in the latency and error rate averages
+   * @param errorRateThreshold the error rate average above which an endpoint is ejected
+   * @param minSamples the number of calls an endpoint must have seen before it can be ejected
+   * @param ejectionDuration how long an ejected endpoint is kept out of routing
+   * @param explorationRate the fraction of calls sent to a random healthy endpoint instead of the fastest
+   */
+  public record Routing(
+    @DefaultValue("0.2")
+    double ewmaAlpha,
+    @DefaultValue("0.5")
+    double errorRateThreshold,
+    @DefaultValue("5")
+    int minSamples,
+    @DefaultValue("30s")
+    Duration ejectionDuration,
+    @DefaultValue("0.05")
+    double explorationRate
+  ) {
+
+    /**
+     * Returns the settings used when no {@code bitpay.routing.*} property is set.
+     *
+     * @return the default settings
+     */
+    public static Routing defaults() {
+      return new Routing(0.2, 0.5, 5, Duration.ofSeconds(30), 0.05);
+    }
+  }
+
+  /**
+   * Settings for {@link BitpayWarmup}, which runs before the application reports readiness.
+   *
+   * @param enabled whether warmup runs at startup
+   * @param connections the number of connections pre-opened to each base URL
+   * @param iterations the number of synthetic send/get round-trips run against a stub transport
+   * @param timeout the longest time connection pre-warming may take
+   */
+  public record Warmup(
+    @DefaultValue("false")
+    boolean enabled,
+    @DefaultValue("4")
+    int connections,
+    @DefaultValue("2000")
+    int iterations,
+    @DefaultValue("10s")
+    Duration timeout
+  ) {
+
+    /**
+     * Returns the settings used when no {@code bitpay.warmup.*} property is set.
+     *
+     * @return the default settings
+     */
+    public static Warmup defaults() {
+      return new Warmup(false, 4, 2000, Duration.ofSeconds(10));
+    }
+  }
+
+  /**
+   * Rules for {@link BitpaySendValidator}, which rejects payment requests locally when the
+   * gateway would certainly reject them.
+   *
+   * @param enabled whether format rules are checked; presence of amount and redirect is always checked
+   * @param minAmount the smallest accepted amount, in Rials
+   * @param maxAmount the largest accepted amount, in Rials, or 0 for no upper limit
+   * @param validateRedirect whether the redirect must be an absolute http(s) URL
+   * @param validateMobile whether a given mobile number must be an Iranian mobile number
+   * @param validateCard whether a given card number must have 16 digits and a valid Luhn check digit
+   */
+  public record Validation(
+    @DefaultValue("true")
+    boolean enabled,
+    @DefaultValue("1000")
+    long minAmount,
+    @DefaultValue("0")
+    long maxAmount,
+    @DefaultValue("true")
+    boolean validateRedirect,
+    @DefaultValue("true")
+    boolean validateMobile,
+    @DefaultValue("true")
+    boolean validateCard
+  ) {
+
+    /**
+     * Returns the settings used when no {@code bitpay.validation.*} property is set.
+     *
+     * @return the default settings
+     */
+    public static Validation defaults() {
+      return new Validation(true, 1000, 0, true, true, true);
+    }
+  }
+
+  /**
+   * The {@link BitpayResultStore} implementations that can be auto-configured.
+   */
+  public enum StoreType {
+    /**
+     * No store; every verification calls the gateway.
+     */
+    NONE,
+    /**
+     * {@link InMemoryBitpayResultStore}, deduplicating within a single node.
+     */
+    MEMORY,
+    /**
+     * {@link JdbcBitpayResultStore}, deduplicating across every node sharing the {@code DataSource}.
+     */
+    JDBC
+  }
 }
@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Dr.Liam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package com.liam.bitpay;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * A store shared between application nodes that coordinates payment verification.
+ * <p>
+ * {@link BitpayClient#get(BitpayGet)} uses the store so that, for a given transaction,
+ * exactly one caller (on any node) performs the gateway call while the others wait
+ * for and read the stored result. The protocol is:
+ * <ol>
+ *   <li>{@link #find(String)} returns a completed result if one is stored.</li>
+ *   <li>Otherwise {@link #claim(String, Duration)} is attempted; only one caller wins and
+ *       receives an owner token.</li>
+ *   <li>The winner calls the gateway and then calls {@link #complete(String, String, BitpayGetResult)}
+ *       if the payment was verified successfully, or {@link #release(String, String)} on any error
+ *       status or failure, so that error results are never shared.</li>
+ *   <li>Losers poll {@link #find(String)} until the result appears or the claim expires,
+ *       at which point another claim may succeed.</li>
+ * </ol>
+ * Implementations must make {@link #claim(String, Duration)} atomic across every node
+ * that shares the store. A claim may expire while its owner is still calling the gateway
+ * and be taken over by another caller, so {@code complete} and {@code release} only take
+ * effect while the given owner token still holds the claim: a late owner can neither
+ * remove nor overwrite its successor's claim.
+ */
+public interface BitpayResultStore {
+  /**
+   * Looks up a completed, unexpired result.
+   *
+   * @param key the verification key, derived from the transaction ID and retrieval ID
+   * @return the stored result, or an empty {@code Optional} if none is available
+   */
+  Optional<BitpayGetResult> find(String key);
+
+  /**
+   * Attempts to take exclusive ownership of the verification for the given key.
+   * A claim is granted if there is no entry for the key, or if the existing claim
+   * or stored result has expired.
+   *
+   * @param key the verification key
+   * @param ttl how long the claim is held before other callers may take it over
+   * @return the owner token of the new claim, or an empty {@code Optional} if another
+   *         caller holds the verification
+   */
+  Optional<String> claim(String key, Duration ttl);
+
+  /**
+   * Stores the result of a verification owned by the caller, making it visible
+   * to every other caller until it expires. Does nothing if the claim has since
+   * been taken over.
+   *
+   * @param key the verification key
+   * @param owner the owner token returned by {@link #claim(String, Duration)}
+   * @param result the result returned by the gateway
+   */
+  void complete(String key, String owner, BitpayGetResult result);
+
+  /**
+   * Gives up a claim without storing a result, so another caller can retry
+   * immediately instead of waiting for the claim to expire. Does nothing if the
+   * claim has since been taken over.
+   *
+   * @param key the verification key
+   * @param owner the owner token returned by {@link #claim(String, Duration)}
+   */
+  void release(String key, String owner);
+}
@@ -0,0 +1,216 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Dr.Liam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package com.liam.bitpay;
+
+/**
+ * Validates {@link BitpaySend} requests locally against the gateway's own rules, so that
+ * requests which are certain to fail are rejected before a round-trip to the gateway.
+ * <p>
+ * The rules mirror the gateway's {@link BitpaySendErrorCodes}:
+ * <ul>
+ *   <li>{@code amount} is required, consists of digits only and lies within the configured limits
+ *       (otherwise the gateway answers {@link BitpaySendErrorCodes#INVALID_AMOUNT}).</li>
+ *   <li>{@code redirect} is required and is an absolute {@code http} or {@code https} URL
+ *       (otherwise {@link BitpaySendErrorCodes#INVALID_REDIRECT}).</li>
+ *   <li>{@code mobileNum}, if present, is an Iranian mobile number: {@code 09xxxxxxxxx},
+ *       optionally written as {@code 9xxxxxxxxx}, {@code 989xxxxxxxxx} or {@code +989xxxxxxxxx}.</li>
+ *   <li>{@code cardNum}, if present, is a 16-digit card number with a valid Luhn check digit.</li>
+ * </ul>
+ * The rules are resolved once at construction and checked with plain character scans:
+ * no regular expressions, no parsing into objects and no allocation unless a request is rejected.
+ */
+public class BitpaySendValidator {
+  private static final int CARD_NUMBER_LENGTH = 16;
+  /**
+   * The length of a mobile number without any prefix: {@code 9} followed by nine digits.
+   */
+  private static final int MOBILE_NUMBER_LENGTH = 10;
+
+  private final boolean enabled;
+  private final long minAmount;
+  private final long maxAmount;
+  private final boolean validateRedirect;
+  private final boolean validateMobile;
+  private final boolean validateCard;
+
+  /**
+   * Constructs a new {@code BitpaySendValidator} from the configured rules.
+   *
+   * @param validation the rules to apply
+   */
+  public BitpaySendValidator(BitpayProperties.Validation validation) {
+    this.enabled = validation.enabled();
+    this.minAmount = validation.minAmount();
+    this.maxAmount = validation.maxAmount() > 0 ? validation.maxAmount() : Long.MAX_VALUE;
+    this.validateRedirect = validation.validateRedirect();
+    this.validateMobile = validation.validateMobile();
+    this.validateCard = validation.validateCard();
+  }
+
+  /**
+   * Checks a payment request. The {@code amount} and {@code redirect} fields are always
+   * required; the format rules only apply when validation is enabled.
+   *
+   * @param bitpaySend the payment request to check
+   * @throws IllegalArgumentException if the request is certain to be rejected by the gateway
+   */
+  public void validate(BitpaySend bitpaySend) {
+    String amount = bitpaySend.getAmount();
+    if (amount == null || amount.isEmpty()) {
+      throw new IllegalArgumentException("Amount is required");
+    }
+    String redirect = bitpaySend.getRedirect();
+    if (redirect == null || redirect.isEmpty()) {
+      throw new IllegalArgumentException("Redirect is required");
+    }
+    if (!enabled) {
+      return;
+    }
+
+    long value = parseAmount(amount);
+    if (value < minAmount || value > maxAmount) {
+      throw new IllegalArgumentException("Invalid amount: " + amount);
+    }
+    if (validateRedirect && !isHttpUrl(redirect)) {
+      throw new IllegalArgumentException("Invalid redirect: " + redirect);
+    }
+    String mobileNum = bitpaySend.getMobileNum();
+    if (validateMobile && mobileNum != null && !mobileNum.isEmpty() && !isMobileNumber(mobileNum)) {
+      throw new IllegalArgumentException("Invalid mobile number");
+    }
+    String cardNum = bitpaySend.getCardNum();
+    if (validateCard && cardNum != null && !cardNum.isEmpty() && !isCardNumber(cardNum)) {
+      throw new IllegalArgumentException("Invalid card number");
+    }
+  }
+
+  /**
+   * Parses a non-negative integer amount.
+   *
+   * @param amount the amount as sent to the gateway
+   * @return the amount, or -1 if it is not a plain digit string that fits in a {@code long}
+   */
+  private static long parseAmount(String amount) {
+    long value = 0;
+    for (int i = 0; i < amount.length(); i++) {
+      int digit = amount.charAt(i) - '0';
+      if (digit < 0 || digit > 9 || value > (Long.MAX_VALUE - digit) / 10) {
+        return -1;
+      }
+      value = value * 10 + digit;
+    }
+    return value;
+  }
+
+  /**
+   * Checks that a URL is absolute, uses {@code http} or {@code https}, has a non-empty
+   * host and contains no whitespace or control characters.
+   *
+   * @param url the URL to check
+   * @return {@code true} if the URL can be used as a redirect
+   */
+  private static boolean isHttpUrl(String url) {
+    int hostStart;
+    if (url.regionMatches(true, 0, "https://", 0, 8)) {
+      hostStart = 8;
+    } else if (url.regionMatches(true, 0, "http://", 0, 7)) {
+      hostStart = 7;
+    } else {
+      return false;
+    }
+
+    int length = url.length();
+    if (hostStart == length) {
+      return false;
+    }
+    char first = url.charAt(hostStart);
+    if (first == '/' || first == '?' || first == '#' || first == ':') {
+      return false;
+    }
+    for (int i = hostStart; i < length; i++) {
+      if (url.charAt(i) <= ' ' || url.charAt(i) == 0x7f) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks an Iranian mobile number in any of its common national or international forms.
+   *
+   * @param mobileNum the mobile number to check
+   * @return {@code true} if the number is {@code 9} followed by nine digits, with an optional
+   *         {@code 0}, {@code 98} or {@code +98} prefix
+   */
+  private static boolean isMobileNumber(String mobileNum) {
+    // The prefix is told apart by length, since a bare number may itself start with 98.
+    int start = mobileNum.length() - MOBILE_NUMBER_LENGTH;
+    boolean prefixed = switch (start) {
+      case 0 -> true;
+      case 1 -> mobileNum.charAt(0) == '0';
+      case 2 -> mobileNum.startsWith("98");
+      case 3 -> mobileNum.startsWith("+98");
+      default -> false;
+    };
+    return prefixed
+      && mobileNum.charAt(start) == '9'
+      && isDigits(mobileNum, start + 1);
+  }
+
+  /**
+   * Checks a 16-digit card number, including its Luhn check digit.
+   *
+   * @param cardNum the card number to check
+   * @return {@code true} if the card number is well-formed
+   */
+  private static boolean isCardNumber(String cardNum) {
+    if (cardNum.length() != CARD_NUMBER_LENGTH || !isDigits(cardNum, 0)) {
+      return false;
+    }
+    int sum = 0;
+    for (int i = 0; i < CARD_NUMBER_LENGTH; i++) {
+      int digit = cardNum.charAt(CARD_NUMBER_LENGTH - 1 - i) - '0';
+      if ((i & 1) == 1) {
+        digit *= 2;
+        if (digit > 9) {
+          digit -= 9;
+        }
+      }
+      sum += digit;
+    }
+    return sum % 10 == 0;
+  }
+
+  private static boolean isDigits(String value, int from) {
+    for (int i = from; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c < '0' || c > '9') {
+        return false;
+      }
+    }
+    return true;
+  }
+}
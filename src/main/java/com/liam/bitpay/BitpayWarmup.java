@@ -0,0 +1,340 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Dr.Liam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package com.liam.bitpay;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Warms up the Bitpay integration at application startup, so the first real
+ * checkout after a deploy does not pay for DNS resolution, TLS handshakes, class
+ * loading and a cold JIT.
+ * <p>
+ * Warmup runs in two phases:
+ * <ol>
+ *   <li>Connection pre-warming: concurrent {@code HEAD} requests are sent to the root of every
+ *       configured base URL, which resolves DNS, completes TLS handshakes and leaves the
+ *       connections in the HTTP client's pool. No payment endpoint is called.</li>
+ *   <li>Hot-path warmup: {@link BitpayClient#send(BitpaySend)} and {@link BitpayClient#get(BitpayGet)}
+ *       are run repeatedly with synthetic data against an in-process stub transport, exercising
+ *       the configured {@link BitpaySendValidator}, endpoint routing, the result store path, form
+ *       encoding, the message converters and JSON binding of the real {@link RestClient}. The
+ *       warmup client uses its own router and a no-op store, so warmup calls neither skew the
+ *       routing statistics nor leave results behind, and it records no flight recorder events.</li>
+ * </ol>
+ * Warmup runs as an {@link ApplicationRunner}, which Spring Boot completes before it
+ * publishes the application as ready, so readiness is only reported once warmup is done.
+ * Failures are logged and never prevent startup.
+ */
+public class BitpayWarmup implements ApplicationRunner {
+  private static final Logger log = LoggerFactory.getLogger(BitpayWarmup.class);
+
+  private final RestClient restClient;
+  private final List<String> baseUrls;
+  private final BitpayProperties.Warmup warmup;
+  private final BitpayProperties.Validation validation;
+  private final BitpayProperties.Routing routing;
+
+  /**
+   * Constructs a new {@code BitpayWarmup}.
+   *
+   * @param restClient the {@code RestClient} used by the {@link BitpayClient}
+   * @param baseUrls the base URLs whose connections are pre-warmed
+   * @param warmup the warmup settings
+   * @param validation the validation rules of the {@link BitpayClient}
+   * @param routing the routing settings of the {@link BitpayClient}
+   */
+  public BitpayWarmup(RestClient restClient, List<String> baseUrls, BitpayProperties.Warmup warmup,
+                      BitpayProperties.Validation validation, BitpayProperties.Routing routing) {
+    this.restClient = restClient;
+    this.baseUrls = baseUrls;
+    this.warmup = warmup;
+    this.validation = validation;
+    this.routing = routing;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    long start = System.nanoTime();
+    preWarmConnections();
+    warmUpHotPath();
+    log.info("Bitpay warmup completed in {} ms", (System.nanoTime() - start) / 1_000_000);
+  }
+
+  /**
+   * Opens the configured number of connections to every base URL concurrently,
+   * waiting at most the configured timeout.
+   */
+  private void preWarmConnections() {
+    if (warmup.connections() <= 0) {
+      return;
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(warmup.connections());
+    try {
+      List<CompletableFuture<Void>> futures = new ArrayList<>();
+      for (String baseUrl : baseUrls) {
+        for (int i = 0; i < warmup.connections(); i++) {
+          futures.add(CompletableFuture.runAsync(() -> openConnection(baseUrl), executor));
+        }
+      }
+      CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+        .get(warmup.timeout().toMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      log.warn("Bitpay connection warmup did not complete within {}", warmup.timeout());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      log.warn("Bitpay connection warmup failed", e);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Sends a {@code HEAD} request to the root of a base URL. Any HTTP status is
+   * accepted; only the established connection matters.
+   *
+   * @param baseUrl the base URL to connect to
+   */
+  private void openConnection(String baseUrl) {
+    try {
+      restClient.head()
+        .uri(baseUrl.endsWith("/") ? baseUrl : baseUrl + "/")
+        .exchange((request, response) -> response.getStatusCode());
+    } catch (RuntimeException e) {
+      log.debug("Bitpay connection warmup to {} failed: {}", baseUrl, e.toString());
+    }
+  }
+
+  /**
+   * Runs the client's send and get paths against a stub transport until the
+   * configured number of iterations is reached.
+   */
+  private void warmUpHotPath() {
+    RestClient stubClient = restClient.mutate()
+      .requestFactory(BitpayWarmup::stubRequest)
+      .requestInterceptors(List::clear)
+      .build();
+    BitpayClient client = BitpayClient.builder()
+      .restClient(stubClient)
+      .apiKey("warmup")
+      .baseUrl(baseUrls.get(0))
+      .resultStore(new NoOpResultStore())
+      .router(new BitpayEndpointRouter(baseUrls, routing))
+      .sendValidator(new BitpaySendValidator(validation))
+      .suppressEvents(true)
+      .build();
+    String amount = String.valueOf(warmupAmount());
+
+    try {
+      for (int i = 0; i < warmup.iterations(); i++) {
+        client.send(BitpaySend.builder()
+          .amount(amount)
+          .redirect("https://warmup.invalid/callback")
+          .name("warmup")
+          .email("warmup@warmup.invalid")
+          .description("warmup")
+          .factorId("WARMUP-" + i)
+          .mobileNum("09120000000")
+          .cardNum("6037990000000006")
+          .build());
+        client.get(BitpayGet.builder()
+          .transId(String.valueOf(i))
+          .idGet(String.valueOf(i))
+          .factorId("WARMUP-" + i)
+          .build());
+      }
+    } catch (RuntimeException e) {
+      log.warn("Bitpay hot-path warmup failed", e);
+    }
+  }
+
+  /**
+   * Picks a synthetic amount that passes the configured amount limits.
+   *
+   * @return the amount sent by warmup payments
+   */
+  private long warmupAmount() {
+    long amount = Math.max(10000, validation.minAmount());
+    return validation.maxAmount() > 0 ? Math.min(amount, validation.maxAmount()) : amount;
+  }
+
+  /**
+   * Creates a request that never leaves the process. Result requests are answered
+   * with a successful JSON payment result and send requests with a payment ID.
+   *
+   * @param uri the request URI
+   * @param method the request method
+   * @return the stub request
+   */
+  private static ClientHttpRequest stubRequest(URI uri, HttpMethod method) {
+    boolean result = uri.getPath().endsWith("/payment/gateway-result-second");
+    String body = result
+      ? "{\"status\":1,\"amount\":10000,\"cardNum\":\"603799******1234\",\"factorId\":\"WARMUP\"}"
+      : "1";
+    MediaType contentType = result ? MediaType.APPLICATION_JSON : MediaType.TEXT_HTML;
+    return new StubRequest(uri, method, new StubResponse(body, contentType));
+  }
+
+  /**
+   * A {@link BitpayResultStore} that always grants the claim and stores nothing, so every
+   * warmup verification takes the claim, fetch and complete path.
+   */
+  private static final class NoOpResultStore implements BitpayResultStore {
+    @Override
+    public Optional<BitpayGetResult> find(String key) {
+      return Optional.empty();
+    }
+
+    @Override
+    public Optional<String> claim(String key, Duration ttl) {
+      return Optional.of("warmup");
+    }
+
+    @Override
+    public void complete(String key, String owner, BitpayGetResult result) {
+    }
+
+    @Override
+    public void release(String key, String owner) {
+    }
+  }
+
+  /**
+   * A {@link ClientHttpRequest} that discards its body and returns a canned response.
+   */
+  private static final class StubRequest implements ClientHttpRequest {
+    private final URI uri;
+    private final HttpMethod method;
+    private final ClientHttpResponse response;
+    private final HttpHeaders headers = new HttpHeaders();
+    private final Map<String, Object> attributes = new HashMap<>();
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+    private StubRequest(URI uri, HttpMethod method, ClientHttpResponse response) {
+      this.uri = uri;
+      this.method = method;
+      this.response = response;
+    }
+
+    @Override
+    public ClientHttpResponse execute() {
+      return response;
+    }
+
+    @Override
+    public OutputStream getBody() {
+      return body;
+    }
+
+    @Override
+    public HttpMethod getMethod() {
+      return method;
+    }
+
+    @Override
+    public URI getURI() {
+      return uri;
+    }
+
+    @Override
+    public Map<String, Object> getAttributes() {
+      return attributes;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+      return headers;
+    }
+  }
+
+  /**
+   * A successful {@link ClientHttpResponse} with a fixed body.
+   */
+  private static final class StubResponse implements ClientHttpResponse {
+    private final byte[] body;
+    private final HttpHeaders headers = new HttpHeaders();
+
+    private StubResponse(String body, MediaType contentType) {
+      this.body = body.getBytes(StandardCharsets.UTF_8);
+      this.headers.setContentType(contentType);
+      this.headers.setContentLength(this.body.length);
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() {
+      return HttpStatus.OK;
+    }
+
+    @Override
+    public String getStatusText() {
+      return HttpStatus.OK.getReasonPhrase();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+      return headers;
+    }
+
+    @Override
+    public InputStream getBody() {
+      return new ByteArrayInputStream(body);
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
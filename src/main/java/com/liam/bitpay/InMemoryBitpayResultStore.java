@@ -0,0 +1,122 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Dr.Liam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package com.liam.bitpay;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link BitpayResultStore} backed by a {@link ConcurrentHashMap}.
+ * <p>
+ * This is the default store. It deduplicates concurrent verifications within a
+ * single JVM only; clustered deployments should use {@link JdbcBitpayResultStore}
+ * or another shared implementation. Expired entries are removed lazily on access
+ * and by a periodic sweep, so memory stays bounded by the result TTL. Results are
+ * copied when stored and when returned, since {@link BitpayGetResult} is mutable.
+ */
+public class InMemoryBitpayResultStore implements BitpayResultStore {
+  /**
+   * The number of claims between two sweeps of expired entries.
+   */
+  private static final int SWEEP_INTERVAL = 1024;
+
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+  private final AtomicInteger claimsSinceSweep = new AtomicInteger();
+  /**
+   * How long completed results remain visible.
+   */
+  private final Duration resultTtl;
+
+  /**
+   * Constructs a new {@code InMemoryBitpayResultStore}.
+   *
+   * @param resultTtl how long completed results remain visible
+   */
+  public InMemoryBitpayResultStore(Duration resultTtl) {
+    this.resultTtl = resultTtl;
+  }
+
+  @Override
+  public Optional<BitpayGetResult> find(String key) {
+    Entry entry = entries.get(key);
+    if (entry == null || entry.result() == null || entry.isExpired(System.currentTimeMillis())) {
+      return Optional.empty();
+    }
+    return Optional.of(entry.result().toBuilder().build());
+  }
+
+  @Override
+  public Optional<String> claim(String key, Duration ttl) {
+    if (claimsSinceSweep.incrementAndGet() >= SWEEP_INTERVAL) {
+      claimsSinceSweep.set(0);
+      sweep();
+    }
+
+    long now = System.currentTimeMillis();
+    Entry claim = new Entry(null, now + ttl.toMillis(), UUID.randomUUID().toString());
+    Entry current = entries.compute(key, (k, existing) ->
+      existing == null || existing.isExpired(now) ? claim : existing);
+    return current == claim ? Optional.of(claim.owner()) : Optional.empty();
+  }
+
+  @Override
+  public void complete(String key, String owner, BitpayGetResult result) {
+    entries.computeIfPresent(key, (k, existing) -> existing.isClaimedBy(owner)
+      ? new Entry(result.toBuilder().build(), System.currentTimeMillis() + resultTtl.toMillis(), owner)
+      : existing);
+  }
+
+  @Override
+  public void release(String key, String owner) {
+    entries.computeIfPresent(key, (k, existing) -> existing.isClaimedBy(owner) ? null : existing);
+  }
+
+  /**
+   * Removes every expired claim and result.
+   */
+  private void sweep() {
+    long now = System.currentTimeMillis();
+    entries.values().removeIf(entry -> entry.isExpired(now));
+  }
+
+  /**
+   * A claim ({@code result == null}) or a completed result, with its expiry time and
+   * the token of the caller that claimed it.
+   */
+  private record Entry(BitpayGetResult result, long expiresAt, String owner) {
+    boolean isExpired(long now) {
+      return expiresAt < now;
+    }
+
+    boolean isClaimedBy(String owner) {
+      return result == null && this.owner.equals(owner);
+    }
+  }
+}
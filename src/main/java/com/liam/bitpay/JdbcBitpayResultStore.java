@@ -0,0 +1,173 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Dr.Liam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package com.liam.bitpay;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * A {@link BitpayResultStore} backed by a relational database table, shared by
+ * every node that points at the same database.
+ * <p>
+ * Claims are taken with a plain {@code INSERT} on the primary key, so the database
+ * guarantees that only one node wins; an expired claim or result is taken over with
+ * a conditional {@code UPDATE}. Each claim stores a random owner token, and results are
+ * only stored or claims released while that token still holds the row. Every statement runs in its own, immediately committed
+ * transaction ({@code PROPAGATION_REQUIRES_NEW}), suspending any transaction of the
+ * caller: claims and results become visible to other nodes at once, and the expected
+ * key violation of a lost claim never aborts the caller's transaction. Only portable SQL
+ * is used, so the store works with embedded databases such as H2 as well as production
+ * databases. The expected table layout is given by {@link #schema()}.
+ */
+public class JdbcBitpayResultStore implements BitpayResultStore {
+  private final JdbcTemplate jdbcTemplate;
+  /**
+   * Runs each statement in a new transaction, independent of the caller's.
+   */
+  private final TransactionTemplate transactionTemplate;
+  /**
+   * How long completed results remain visible.
+   */
+  private final Duration resultTtl;
+  private final String tableName;
+
+  private final String insertClaimSql;
+  private final String takeOverClaimSql;
+  private final String findSql;
+  private final String completeSql;
+  private final String releaseSql;
+
+  /**
+   * Constructs a new {@code JdbcBitpayResultStore}.
+   *
+   * @param dataSource the shared database
+   * @param tableName the name of the table holding claims and results
+   * @param resultTtl how long completed results remain visible
+   */
+  public JdbcBitpayResultStore(DataSource dataSource, String tableName, Duration resultTtl) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.tableName = tableName;
+    this.resultTtl = resultTtl;
+
+    this.insertClaimSql = "INSERT INTO " + tableName
+      + " (result_key, owner, completed, expires_at) VALUES (?, ?, 0, ?)";
+    this.takeOverClaimSql = "UPDATE " + tableName
+      + " SET owner = ?, completed = 0, status = NULL, amount = NULL, card_num = NULL, factor_id = NULL,"
+      + " expires_at = ? WHERE result_key = ? AND expires_at < ?";
+    this.findSql = "SELECT status, amount, card_num, factor_id FROM " + tableName
+      + " WHERE result_key = ? AND completed = 1 AND expires_at >= ?";
+    this.completeSql = "UPDATE " + tableName
+      + " SET completed = 1, status = ?, amount = ?, card_num = ?, factor_id = ?, expires_at = ?"
+      + " WHERE result_key = ? AND owner = ? AND completed = 0";
+    this.releaseSql = "DELETE FROM " + tableName + " WHERE result_key = ? AND owner = ? AND completed = 0";
+  }
+
+  /**
+   * Returns the DDL that creates the table used by this store.
+   *
+   * @return a {@code CREATE TABLE IF NOT EXISTS} statement for the configured table
+   */
+  public String schema() {
+    return "CREATE TABLE IF NOT EXISTS " + tableName + " ("
+      + "result_key VARCHAR(255) NOT NULL PRIMARY KEY, "
+      + "owner VARCHAR(36) NOT NULL, "
+      + "completed INT NOT NULL, "
+      + "status INT, "
+      + "amount INT, "
+      + "card_num VARCHAR(64), "
+      + "factor_id VARCHAR(255), "
+      + "expires_at BIGINT NOT NULL)";
+  }
+
+  /**
+   * Creates the table used by this store if it does not exist yet.
+   */
+  public void initializeSchema() {
+    transactionTemplate.executeWithoutResult(status -> jdbcTemplate.execute(schema()));
+  }
+
+  @Override
+  public Optional<BitpayGetResult> find(String key) {
+    List<BitpayGetResult> results = transactionTemplate.execute(status ->
+      jdbcTemplate.query(findSql, (rs, rowNum) -> BitpayGetResult.builder()
+        .status(rs.getInt("status"))
+        .amount(rs.getInt("amount"))
+        .cardNum(rs.getString("card_num"))
+        .factorId(rs.getString("factor_id"))
+        .build(), key, System.currentTimeMillis()));
+    return results.stream().findFirst();
+  }
+
+  @Override
+  public Optional<String> claim(String key, Duration ttl) {
+    long now = System.currentTimeMillis();
+    String owner = UUID.randomUUID().toString();
+    try {
+      update(insertClaimSql, key, owner, now + ttl.toMillis());
+      return Optional.of(owner);
+    } catch (DataIntegrityViolationException e) {
+      // The failed INSERT rolled back its own transaction only; take over in a fresh one.
+      return update(takeOverClaimSql, owner, now + ttl.toMillis(), key, now) == 1
+        ? Optional.of(owner)
+        : Optional.empty();
+    }
+  }
+
+  @Override
+  public void complete(String key, String owner, BitpayGetResult result) {
+    update(completeSql, result.getStatus(), result.getAmount(), result.getCardNum(),
+      result.getFactorId(), System.currentTimeMillis() + resultTtl.toMillis(), key, owner);
+  }
+
+  @Override
+  public void release(String key, String owner) {
+    update(releaseSql, key, owner);
+  }
+
+  /**
+   * Executes an update statement in its own transaction.
+   *
+   * @param sql the statement
+   * @param args the statement arguments
+   * @return the number of affected rows
+   */
+  private int update(String sql, Object... args) {
+    Integer rows = transactionTemplate.execute(status -> jdbcTemplate.update(sql, args));
+    return rows != null ? rows : 0;
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Dr.Liam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package com.liam.bitpay;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands out evenly spaced start times for a workload running at a fixed rate.
+ * <p>
+ * An open-loop pacer schedules slots from the start time rather than from the previous
+ * call, so a caller that falls behind catches up instead of silently lowering the rate.
+ * A rate-limiting pacer never carries missed slots forward: a caller that falls behind,
+ * or that does not ask for a slot for a while, resumes at the configured rate instead of
+ * bursting above it.
+ */
+class RatePacer {
+  private final long intervalNanos;
+  private final boolean catchUp;
+  private final AtomicLong nextSlot;
+
+  /**
+   * Creates an open-loop pacer whose first slot is now.
+   *
+   * @param permitsPerSecond the target rate; must be positive
+   */
+  RatePacer(double permitsPerSecond) {
+    this(permitsPerSecond, true);
+  }
+
+  /**
+   * Creates a pacer whose first slot is now.
+   *
+   * @param permitsPerSecond the target rate; must be positive
+   * @param catchUp whether missed slots are handed out back to back ({@code true}, open loop)
+   *                or dropped ({@code false}, a strict upper bound on the rate)
+   */
+  RatePacer(double permitsPerSecond, boolean catchUp) {
+    if (permitsPerSecond <= 0) {
+      throw new IllegalArgumentException("Rate must be positive: " + permitsPerSecond);
+    }
+    this.intervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+    this.catchUp = catchUp;
+    this.nextSlot = new AtomicLong(System.nanoTime());
+  }
+
+  /**
+   * Blocks until the next free slot.
+   *
+   * @return the scheduled start of the slot, as a {@link System#nanoTime()} reading
+   * @throws InterruptedException if the thread is interrupted while waiting
+   */
+  long acquire() throws InterruptedException {
+    long slot;
+    if (catchUp) {
+      slot = nextSlot.getAndAdd(intervalNanos);
+    } else {
+      long now = System.nanoTime();
+      slot = nextSlot.updateAndGet(next -> (next - now < 0 ? now : next) + intervalNanos) - intervalNanos;
+    }
+    long wait;
+    while ((wait = slot - System.nanoTime()) > 0) {
+      LockSupport.parkNanos(wait);
+      if (Thread.interrupted()) {
+        throw new InterruptedException();
+      }
+    }
+    return slot;
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Dr.Liam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package com.liam.bitpay;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BitpayBulkSenderTest {
+
+  private final StubGateway gateway = new StubGateway(Duration.ZERO).timeoutWhen("factorId=LOST");
+  private final BitpayClient client = BitpayClient.builder()
+    .restClient(gateway.restClient())
+    .apiKey("key")
+    .baseUrl("https://bitpay.ir")
+    .sendValidator(new BitpaySendValidator(BitpayProperties.Validation.defaults()))
+    .build();
+
+  private static Stream<BitpaySend> donors() {
+    return Stream.of(
+      donor("OK-1", "10000"),
+      donor("INVALID", "10"),
+      donor("LOST", "10000"),
+      donor("OK-2", "20000"));
+  }
+
+  private static BitpaySend donor(String factorId, String amount) {
+    return BitpaySend.builder()
+      .amount(amount)
+      .redirect("https://merchant.example/callback")
+      .factorId(factorId)
+      .build();
+  }
+
+  private BitpayBulkReport run(Path output, boolean retryUncertain) throws Exception {
+    return BitpayBulkSender.builder()
+      .client(client)
+      .concurrency(2)
+      .retryUncertain(retryUncertain)
+      .build()
+      .run(donors(), output);
+  }
+
+  @Test
+  void recordsLocalAndPostSendFailuresSeparately(@TempDir Path dir) throws Exception {
+    Path output = dir.resolve("links.ndjson");
+
+    BitpayBulkReport report = run(output, false);
+
+    assertThat(report.sent()).isEqualTo(2);
+    assertThat(report.failed()).isEqualTo(1);
+    assertThat(report.uncertain()).isEqualTo(1);
+    assertThat(gateway.sendCalls).hasValue(3);
+    assertThat(Files.readAllLines(output))
+      .anySatisfy(line -> assertThat(line).contains("\"factorId\":\"INVALID\"", "\"error\":"))
+      .anySatisfy(line -> assertThat(line).contains("\"factorId\":\"LOST\"", "\"uncertain\":"));
+  }
+
+  @Test
+  void resumeRetriesLocalFailuresButNotUncertainSends(@TempDir Path dir) throws Exception {
+    Path output = dir.resolve("links.ndjson");
+    run(output, false);
+    gateway.sendCalls.set(0);
+
+    BitpayBulkReport report = run(output, false);
+
+    assertThat(report.skipped()).isEqualTo(3);
+    assertThat(report.failed()).isEqualTo(1);
+    assertThat(report.uncertain()).isZero();
+    assertThat(gateway.sendCalls).hasValue(0);
+  }
+
+  @Test
+  void retryUncertainResendsUncertainRequests(@TempDir Path dir) throws Exception {
+    Path output = dir.resolve("links.ndjson");
+    run(output, false);
+    gateway.sendCalls.set(0);
+    gateway.timeoutWhen(null);
+
+    BitpayBulkReport report = run(output, true);
+
+    assertThat(report.skipped()).isEqualTo(2);
+    assertThat(report.sent()).isEqualTo(1);
+    assertThat(gateway.sendCalls).hasValue(1);
+  }
+
+  @Test
+  void resumesFromLineCutInsideMultiByteCharacter(@TempDir Path dir) throws Exception {
+    Path output = dir.resolve("links.ndjson");
+    byte[] cut = "{\"index\":3,\"factorId\":\"OK-2\",\"error\":\"مبلغ".getBytes(StandardCharsets.UTF_8);
+    Files.write(output, ("{\"index\":0,\"factorId\":\"OK-1\",\"result\":1}\n").getBytes(StandardCharsets.UTF_8));
+    Files.write(output, Arrays.copyOf(cut, cut.length - 1), StandardOpenOption.APPEND);
+
+    BitpayBulkReport report = run(output, false);
+
+    assertThat(report.skipped()).isEqualTo(1);
+    assertThat(report.sent()).isEqualTo(1);
+    List<String> lines = readLenient(output);
+    assertThat(lines).hasSize(5);
+    assertThat(lines.get(2)).startsWith("{\"index\":");
+  }
+
+  @Test
+  void resumeRetriesRequestsTheGatewayRejected(@TempDir Path dir) throws Exception {
+    Path output = dir.resolve("links.ndjson");
+    gateway.sendBody(String.valueOf(BitpaySendErrorCodes.GATEWAY_ERROR));
+    BitpayBulkReport outage = run(output, false);
+    assertThat(outage.rejected()).isEqualTo(2);
+    assertThat(Files.readAllLines(output)).anySatisfy(line -> assertThat(line).contains("\"result\":-5"));
+
+    gateway.sendBody("12345");
+    gateway.sendCalls.set(0);
+    BitpayBulkReport report = run(output, false);
+
+    assertThat(report.sent()).isEqualTo(2);
+    assertThat(report.skipped()).isEqualTo(1);
+    assertThat(gateway.sendCalls).hasValue(2);
+
+    gateway.sendCalls.set(0);
+    assertThat(run(output, false).skipped()).isEqualTo(3);
+    assertThat(gateway.sendCalls).hasValue(0);
+  }
+
+  @Test
+  void resumeDoesNotBurstAboveTheRateLimit(@TempDir Path dir) throws Exception {
+    Path output = dir.resolve("links.ndjson");
+    StringBuilder checkpoint = new StringBuilder();
+    for (int i = 0; i < 20; i++) {
+      checkpoint.append("{\"index\":").append(i).append(",\"result\":").append(i + 1).append("}\n");
+    }
+    Files.writeString(output, checkpoint);
+    // Load the client's classes first, so the first paced sends are not held up together.
+    client.send(donor("WARMUP", "10000"));
+    gateway.sendTimes.clear();
+    // The checkpointed rows take a while to read back, as a large input file would.
+    Stream<BitpaySend> slowSource = IntStream.range(0, 30).mapToObj(i -> {
+      if (i < 20) {
+        sleep(25);
+      }
+      return donor("D-" + i, "10000");
+    });
+
+    BitpayBulkReport report = BitpayBulkSender.builder()
+      .client(client)
+      .concurrency(4)
+      .permitsPerSecond(20)
+      .build()
+      .run(slowSource, output);
+
+    assertThat(report.skipped()).isEqualTo(20);
+    assertThat(report.sent()).isEqualTo(10);
+    List<Long> sendTimes = gateway.sendTimes;
+    long elapsed = sendTimes.get(sendTimes.size() - 1) - sendTimes.get(0);
+    // Ten sends at 20 per second are 450 ms apart from first to last; allow for timer slack.
+    assertThat(TimeUnit.NANOSECONDS.toMillis(elapsed)).isGreaterThanOrEqualTo(400);
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static List<String> readLenient(Path output) throws IOException {
+    return new String(Files.readAllBytes(output), StandardCharsets.UTF_8).lines().toList();
+  }
+}
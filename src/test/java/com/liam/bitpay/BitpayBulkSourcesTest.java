@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Dr.Liam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package com.liam.bitpay;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class BitpayBulkSourcesTest {
+
+  @TempDir
+  Path dir;
+
+  private List<BitpaySend> csv(String content) throws Exception {
+    Path file = dir.resolve("donors.csv");
+    Files.writeString(file, content, StandardCharsets.UTF_8);
+    try (Stream<BitpaySend> sends = BitpayBulkSources.csv(file)) {
+      return sends.toList();
+    }
+  }
+
+  @ParameterizedTest
+  @CsvSource(delimiter = '|', quoteCharacter = '\'', value = {
+    // raw CSV field     | parsed value
+    "Ali                 | Ali",
+    "'  Ali  '           | Ali",
+    "'\"Ali\"'           | Ali",
+    "'\"  Ali  \"'       | '  Ali  '",
+    "'  \"  Ali  \"  '   | '  Ali  '",
+    "'\"Ali, Reza\"'     | 'Ali, Reza'",
+    "'\"say \"\"hi\"\"\"' | 'say \"hi\"'",
+    "'\"Ali\" Reza'      | 'Ali Reza'",
+    "'\"  \"'            | '  '",
+  })
+  void trimsOnlyOutsideQuotes(String raw, String expected) throws Exception {
+    List<BitpaySend> sends = csv("amount,name,factorId\n10000," + raw + ",D-1\n");
+
+    assertThat(sends).singleElement().satisfies(send -> {
+      assertThat(send.getName()).isEqualTo(expected);
+      assertThat(send.getAmount()).isEqualTo("10000");
+    });
+  }
+
+  @Test
+  void ignoresByteOrderMark() throws Exception {
+    List<BitpaySend> sends = csv("\uFEFFamount,redirect\n10000,https://merchant.example\n");
+
+    assertThat(sends).singleElement().satisfies(send -> {
+      assertThat(send.getAmount()).isEqualTo("10000");
+      assertThat(send.getRedirect()).isEqualTo("https://merchant.example");
+    });
+  }
+
+  @Test
+  void readsEmptyFieldsAsAbsentAndSkipsBlankLines() throws Exception {
+    List<BitpaySend> sends = csv("amount, name ,mobileNum\n10000,,\n\n20000, Reza ,09121234567\n");
+
+    assertThat(sends).hasSize(2);
+    assertThat(sends.get(0).getName()).isNull();
+    assertThat(sends.get(0).getMobileNum()).isNull();
+    assertThat(sends.get(1).getName()).isEqualTo("Reza");
+    assertThat(sends.get(1).getMobileNum()).isEqualTo("09121234567");
+  }
+
+  @Test
+  void readsQuotedFieldsThatSpanLines() throws Exception {
+    List<BitpaySend> sends = csv("amount,description,factorId\r\n"
+      + "10000,\"Monthly gift\r\nfor \"\"Mehr\"\"\r\n\",D-1\r\n"
+      + "20000,One line,D-2\r\n");
+
+    assertThat(sends).hasSize(2);
+    assertThat(sends.get(0).getDescription()).isEqualTo("Monthly gift\nfor \"Mehr\"\n");
+    assertThat(sends.get(0).getFactorId()).isEqualTo("D-1");
+    assertThat(sends.get(1).getFactorId()).isEqualTo("D-2");
+  }
+
+  @Test
+  void rejectsQuoteLeftOpenAtEndOfFile() {
+    assertThatIllegalArgumentException()
+      .isThrownBy(() -> csv("amount,description\n10000,\"Monthly gift\n20000,One line\n"))
+      .withMessageContaining("Unterminated quote");
+  }
+
+  @Test
+  void rejectsUnknownColumn() {
+    assertThatIllegalArgumentException().isThrownBy(() -> csv("amount,nmae\n10000,Ali\n"));
+  }
+}
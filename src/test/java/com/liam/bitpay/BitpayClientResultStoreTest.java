@@ -0,0 +1,139 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Dr.Liam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package com.liam.bitpay;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+class BitpayClientResultStoreTest {
+
+  private static final int NODES = 8;
+  private static final BitpayProperties.Store STORE = new BitpayProperties.Store(
+    BitpayProperties.StoreType.JDBC, Duration.ofSeconds(5), Duration.ofHours(1), Duration.ofSeconds(10),
+    Duration.ofMillis(20), "bitpay_result", true);
+
+  private EmbeddedDatabase database;
+
+  @BeforeEach
+  void createDatabase() {
+    database = new EmbeddedDatabaseBuilder()
+      .setType(EmbeddedDatabaseType.H2)
+      .generateUniqueName(true)
+      .build();
+  }
+
+  @AfterEach
+  void shutdownDatabase() {
+    database.shutdown();
+  }
+
+  private BitpayClient node(StubGateway gateway) {
+    JdbcBitpayResultStore store = new JdbcBitpayResultStore(database, STORE.tableName(), STORE.resultTtl());
+    store.initializeSchema();
+    return BitpayClient.builder()
+      .restClient(gateway.restClient())
+      .apiKey("key")
+      .baseUrl("https://bitpay.ir")
+      .resultStore(store)
+      .storeProperties(STORE)
+      .build();
+  }
+
+  private static BitpayGet bitpayGet() {
+    return BitpayGet.builder().transId("42").idGet("7").factorId("F-1").build();
+  }
+
+  @Test
+  void concurrentGetsOnSeparateNodesCallTheGatewayOnce() throws Exception {
+    StubGateway gateway = new StubGateway(Duration.ofMillis(300));
+    List<BitpayClient> nodes = new ArrayList<>();
+    for (int i = 0; i < NODES; i++) {
+      nodes.add(node(gateway));
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(NODES);
+    try {
+      CyclicBarrier start = new CyclicBarrier(NODES);
+      List<Future<BitpayGetResult>> results = new ArrayList<>();
+      for (BitpayClient node : nodes) {
+        results.add(executor.submit(() -> {
+          start.await();
+          return node.get(bitpayGet());
+        }));
+      }
+
+      for (Future<BitpayGetResult> result : results) {
+        assertThat(result.get(20, TimeUnit.SECONDS).getStatus()).isEqualTo(1);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(gateway.resultCalls).hasValue(1);
+  }
+
+  @Test
+  void successfulResultIsServedFromTheStore() {
+    StubGateway gateway = new StubGateway(Duration.ZERO);
+    BitpayClient node1 = node(gateway);
+    BitpayClient node2 = node(gateway);
+
+    node1.get(bitpayGet());
+    BitpayGetResult result = node2.get(bitpayGet());
+
+    assertThat(result.getAmount()).isEqualTo(10000);
+    assertThat(gateway.resultCalls).hasValue(1);
+  }
+
+  @Test
+  void errorStatusIsNotStored() {
+    StubGateway gateway = new StubGateway(Duration.ZERO)
+      .resultBody("{\"status\":" + BitpayGetErrorCodes.INVALID_API_KEY + "}");
+    BitpayClient node1 = node(gateway);
+    BitpayClient node2 = node(gateway);
+
+    assertThat(node1.get(bitpayGet()).getStatus()).isEqualTo(BitpayGetErrorCodes.INVALID_API_KEY);
+    gateway.resultBody("{\"status\":1,\"amount\":10000}");
+
+    assertThat(node2.get(bitpayGet()).getStatus()).isEqualTo(1);
+    assertThat(gateway.resultCalls).hasValue(2);
+  }
+}
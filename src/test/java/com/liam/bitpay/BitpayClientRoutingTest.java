@@ -0,0 +1,117 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Dr.Liam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package com.liam.bitpay;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+class BitpayClientRoutingTest {
+
+  private static final BitpayProperties.Routing ROUTING =
+    new BitpayProperties.Routing(0.5, 0.5, 3, Duration.ofMinutes(5), 0.0);
+
+  /**
+   * Every request URI, in order. Requests to {@code proxy-a.test} are answered by a
+   * proxy that requires authentication.
+   */
+  private final List<URI> requests = new CopyOnWriteArrayList<>();
+
+  private final RestClient restClient = RestClient.builder()
+    .baseUrl("https://bitpay.ir")
+    .requestFactory((uri, method) -> {
+      requests.add(uri);
+      boolean proxyAuthenticationRequired = uri.getHost().equals("proxy-a.test");
+      MockClientHttpResponse response = proxyAuthenticationRequired
+        ? new MockClientHttpResponse(new byte[0], HttpStatus.PROXY_AUTHENTICATION_REQUIRED)
+        : new MockClientHttpResponse("12345".getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+      response.getHeaders().setContentType(MediaType.TEXT_HTML);
+      MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+      request.setResponse(response);
+      return request;
+    })
+    .build();
+
+  private final BitpayEndpointRouter router =
+    new BitpayEndpointRouter(List.of("https://proxy-a.test", "https://proxy-b.test/"), ROUTING);
+
+  private final BitpayClient client = BitpayClient.builder()
+    .restClient(restClient)
+    .apiKey("key")
+    .baseUrl("https://bitpay.ir")
+    .router(router)
+    .build();
+
+  private static BitpaySend send() {
+    return BitpaySend.builder()
+      .amount("10000")
+      .redirect("https://merchant.example/callback")
+      .factorId("F-1")
+      .build();
+  }
+
+  @Test
+  void clientErrorsEjectTheEndpoint() {
+    // A healthy path has real gateway latency; a misconfigured proxy fails faster than that.
+    router.endpoints().get(1).recordSuccess(Duration.ofMillis(80).toNanos());
+
+    for (int i = 0; i < ROUTING.minSamples(); i++) {
+      assertThatThrownBy(() -> client.send(send())).isInstanceOf(HttpClientErrorException.class);
+    }
+    assertThat(router.endpoints().get(0).isEjected(System.nanoTime())).isTrue();
+
+    for (int i = 0; i < 10; i++) {
+      assertThat(client.send(send()).getResult()).isEqualTo(12345);
+    }
+
+    assertThat(requests).filteredOn(uri -> uri.getHost().equals("proxy-a.test")).hasSize(ROUTING.minSamples());
+    assertThat(requests).filteredOn(uri -> uri.getHost().equals("proxy-b.test")).hasSize(10);
+  }
+
+  @Test
+  void routedCallsUseEndpointUrlWhileRedirectsUseBaseUrl() {
+    router.endpoints().get(0).recordSuccess(Duration.ofSeconds(1).toNanos());
+    router.endpoints().get(1).recordSuccess(Duration.ofMillis(10).toNanos());
+
+    SendResult result = client.send(send());
+
+    assertThat(requests).containsExactly(URI.create("https://proxy-b.test/payment/gateway-send"));
+    assertThat(result.getRedirectUrl()).isEqualTo("https://bitpay.ir/payment/gateway-12345-get");
+  }
+}
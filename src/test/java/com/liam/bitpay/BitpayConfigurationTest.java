@@ -0,0 +1,66 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Dr.Liam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package com.liam.bitpay;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.web.client.RestClientAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.web.client.RestClient;
+
+class BitpayConfigurationTest {
+
+  private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+    .withConfiguration(AutoConfigurations.of(RestClientAutoConfiguration.class, BitpayConfiguration.class))
+    .withPropertyValues("bitpay.api-key=key");
+
+  private static List<ClientHttpRequestInterceptor> interceptors(RestClient restClient) {
+    List<ClientHttpRequestInterceptor> interceptors = new ArrayList<>();
+    restClient.mutate().requestInterceptors(interceptors::addAll);
+    return interceptors;
+  }
+
+  @Test
+  void gatewayEventInterceptorIsClosestToTransport() {
+    contextRunner
+      .withPropertyValues("bitpay.logging.enabled=true")
+      .run(context -> assertThat(interceptors(context.getBean(RestClient.class)))
+        .hasExactlyElementsOfTypes(BitpayLoggingInterceptor.class, BitpayGatewayEventInterceptor.class));
+  }
+
+  @Test
+  void gatewayEventInterceptorIsRegisteredWithoutLogging() {
+    contextRunner
+      .run(context -> assertThat(interceptors(context.getBean(RestClient.class)))
+        .hasExactlyElementsOfTypes(BitpayGatewayEventInterceptor.class));
+  }
+}
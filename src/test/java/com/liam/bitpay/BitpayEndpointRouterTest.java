@@ -0,0 +1,156 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Dr.Liam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package com.liam.bitpay;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class BitpayEndpointRouterTest {
+
+  private static final Duration EJECTION = Duration.ofSeconds(30);
+  private static final BitpayProperties.Routing ROUTING =
+    new BitpayProperties.Routing(0.5, 0.5, 3, EJECTION, 0.0);
+
+  private static BitpayEndpointRouter router(String... baseUrls) {
+    return new BitpayEndpointRouter(List.of(baseUrls), ROUTING);
+  }
+
+  @Test
+  void requiresBaseUrl() {
+    assertThatIllegalArgumentException().isThrownBy(() -> router());
+  }
+
+  @Test
+  void stripsTrailingSlash() {
+    assertThat(router("https://a.test/").endpoints().get(0).url()).isEqualTo("https://a.test");
+  }
+
+  @ParameterizedTest
+  @ValueSource(longs = {Long.MIN_VALUE, -1_000_000_000L, -1L, 0L, 1L, Long.MAX_VALUE})
+  void freshEndpointIsNotEjectedAtAnyClockReading(long now) {
+    assertThat(router("https://a.test").endpoints().get(0).isEjected(now)).isFalse();
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+    // samples (ms)    , expected EWMA (ms) with alpha 0.5
+    "100               , 100",
+    "100;200           , 150",
+    "100;200;400       , 275",
+    "400;400;100;100   , 175",
+  })
+  void latencyIsExponentiallyWeighted(String samples, double expectedMillis) {
+    BitpayEndpointRouter.Endpoint endpoint = router("https://a.test").endpoints().get(0);
+
+    for (String sample : samples.split(";")) {
+      endpoint.recordSuccess(Duration.ofMillis(Long.parseLong(sample)).toNanos());
+    }
+
+    assertThat(endpoint.latencyNanos()).isEqualTo(Duration.ofMillis((long) expectedMillis).toNanos());
+    assertThat(endpoint.errorRate()).isZero();
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+    // outcomes (S = success, F = failure), ejected
+    "F;F         , false",
+    "F;F;F       , true",
+    "S;S;S;F     , false", // 0.5 is not above the threshold
+    "S;F;F;F     , true",
+    "F;S;F       , true",
+    "S;S;S;S;S;F , false",
+  })
+  void ejectsOnceErrorRateCrossesThresholdAfterMinSamples(String outcomes, boolean ejected) {
+    BitpayEndpointRouter.Endpoint endpoint = router("https://a.test").endpoints().get(0);
+
+    for (String outcome : outcomes.split(";")) {
+      if (outcome.equals("F")) {
+        endpoint.recordFailure(1_000_000);
+      } else {
+        endpoint.recordSuccess(1_000_000);
+      }
+    }
+
+    assertThat(endpoint.isEjected(System.nanoTime())).isEqualTo(ejected);
+  }
+
+  @Test
+  void ejectedEndpointIsReadmittedWithCleanHistory() {
+    BitpayEndpointRouter.Endpoint endpoint = router("https://a.test").endpoints().get(0);
+    long before = System.nanoTime();
+
+    eject(endpoint);
+
+    assertThat(endpoint.isEjected(before)).isTrue();
+    assertThat(endpoint.isEjected(System.nanoTime() + EJECTION.toNanos() + 1)).isFalse();
+    assertThat(endpoint.errorRate()).isZero();
+
+    // A single failure after re-admission must not eject again before min-samples.
+    endpoint.recordFailure(1_000_000);
+    assertThat(endpoint.isEjected(System.nanoTime() + EJECTION.toNanos() + 1)).isFalse();
+  }
+
+  @Test
+  void selectsLowestLatencyHealthyEndpoint() {
+    BitpayEndpointRouter router = router("https://a.test", "https://b.test", "https://c.test");
+    List<BitpayEndpointRouter.Endpoint> endpoints = router.endpoints();
+    endpoints.get(0).recordSuccess(300);
+    endpoints.get(1).recordSuccess(100);
+    endpoints.get(2).recordSuccess(200);
+
+    assertThat(router.select()).isSameAs(endpoints.get(1));
+
+    eject(endpoints.get(1));
+
+    assertThat(router.select()).isSameAs(endpoints.get(2));
+  }
+
+  @Test
+  void fallsBackToSoonestReadmittedWhenAllAreEjected() throws InterruptedException {
+    BitpayEndpointRouter router = router("https://a.test", "https://b.test");
+    List<BitpayEndpointRouter.Endpoint> endpoints = router.endpoints();
+    eject(endpoints.get(0));
+    Thread.sleep(5);
+    eject(endpoints.get(1));
+
+    assertThat(router.select()).isSameAs(endpoints.get(0));
+  }
+
+  private static void eject(BitpayEndpointRouter.Endpoint endpoint) {
+    for (int i = 0; i < ROUTING.minSamples(); i++) {
+      endpoint.recordFailure(1_000_000);
+    }
+    assertThat(endpoint.isEjected(System.nanoTime())).isTrue();
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Dr.Liam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package com.liam.bitpay;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+
+class BitpayGatewayEventTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void recordsTransportMeasurementsOfEachCall() throws Exception {
+    StubGateway gateway = new StubGateway(Duration.ofMillis(5))
+      .sendBody("12345")
+      .timeoutWhen("LOST");
+    RestClient restClient = RestClient.builder()
+      .baseUrl("http://gateway.test")
+      .requestFactory(gateway)
+      .requestInterceptor(new BitpayGatewayEventInterceptor())
+      .build();
+    BitpayClient client = BitpayClient.builder()
+      .restClient(restClient)
+      .apiKey("key")
+      .baseUrl("https://bitpay.ir")
+      .resultStore(new InMemoryBitpayResultStore(Duration.ofHours(1)))
+      .storeProperties(BitpayProperties.Store.defaults())
+      .build();
+    BitpayGet bitpayGet = BitpayGet.builder().transId("42").idGet("7").factorId("F-1").build();
+
+    List<RecordedEvent> events;
+    try (Recording recording = new Recording()) {
+      recording.enable(BitpayGatewayEvent.class);
+      recording.start();
+      client.send(send("D-1"));
+      client.get(bitpayGet);
+      client.get(bitpayGet);
+      assertThatExceptionOfType(ResourceAccessException.class).isThrownBy(() -> client.send(send("LOST")));
+      recording.stop();
+      Path file = dir.resolve("events.jfr");
+      recording.dump(file);
+      events = RecordingFile.readAllEvents(file).stream()
+        .filter(event -> event.getEventType().getName().equals("com.liam.bitpay.GatewayCall"))
+        .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+        .toList();
+    }
+
+    assertThat(events).hasSize(4);
+    assertThat(events.get(0)).satisfies(event -> {
+      assertThat(event.getString("operation")).isEqualTo("send");
+      assertThat(event.getString("endpoint")).isEqualTo("http://gateway.test/payment/gateway-send");
+      assertThat(event.getString("factorId")).isEqualTo("D-1");
+      assertThat(event.getInt("resultCode")).isEqualTo(12345);
+      assertThat(event.getLong("requestBytes")).isPositive();
+      assertThat(event.getLong("responseBytes")).isEqualTo(5);
+      assertThat(event.getLong("exchangeTime")).isPositive();
+      assertThat(event.getBoolean("fromStore")).isFalse();
+      assertThat(event.getString("failure")).isNull();
+    });
+    assertThat(events.get(1)).satisfies(event -> {
+      assertThat(event.getString("operation")).isEqualTo("get");
+      assertThat(event.getString("endpoint")).isEqualTo("http://gateway.test/payment/gateway-result-second");
+      assertThat(event.getString("factorId")).isEqualTo("F-1");
+      assertThat(event.getInt("resultCode")).isEqualTo(1);
+      assertThat(event.getLong("requestBytes")).isPositive();
+      assertThat(event.getLong("responseBytes")).isPositive();
+      assertThat(event.getLong("exchangeTime")).isPositive();
+      assertThat(event.getBoolean("fromStore")).isFalse();
+    });
+    // The verified payment is answered from the result store without a gateway exchange.
+    assertThat(events.get(2)).satisfies(event -> {
+      assertThat(event.getString("operation")).isEqualTo("get");
+      assertThat(event.getString("endpoint")).isNull();
+      assertThat(event.getInt("resultCode")).isEqualTo(1);
+      assertThat(event.getLong("exchangeTime")).isZero();
+      assertThat(event.getBoolean("fromStore")).isTrue();
+    });
+    assertThat(events.get(3)).satisfies(event -> {
+      assertThat(event.getString("operation")).isEqualTo("send");
+      assertThat(event.getString("factorId")).isEqualTo("LOST");
+      assertThat(event.getString("endpoint")).isEqualTo("http://gateway.test/payment/gateway-send");
+      assertThat(event.getLong("exchangeTime")).isPositive();
+      assertThat(event.getLong("responseBytes")).isEqualTo(-1);
+      assertThat(event.getString("failure")).contains("Read timed out");
+    });
+    assertThat(gateway.sendCalls).hasValue(2);
+    assertThat(gateway.resultCalls).hasValue(1);
+  }
+
+  private static BitpaySend send(String factorId) {
+    return BitpaySend.builder()
+      .amount("10000")
+      .redirect("https://merchant.example/callback")
+      .factorId(factorId)
+      .build();
+  }
+}
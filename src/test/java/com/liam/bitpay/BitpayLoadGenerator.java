@@ -0,0 +1,164 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Dr.Liam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package com.liam.bitpay;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import lombok.Builder;
+
+/**
+ * Drives a {@link BitpayClient} at a target request rate and reports throughput
+ * and latency percentiles.
+ * <p>
+ * The generator is open-loop: operations are started on a fixed schedule whether or
+ * not earlier ones have finished, like real checkout traffic. Combined with
+ * {@link BitpaySimulator}, it is used to size connection pools and validate timeout,
+ * routing and result store settings offline.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * BitpayLoadReport report = BitpayLoadGenerator.builder()
+ *   .client(bitpayClient)
+ *   .operation(simulator.checkoutOperation())
+ *   .targetRps(200)
+ *   .duration(Duration.ofSeconds(60))
+ *   .concurrency(64)
+ *   .build()
+ *   .run();
+ * }</pre>
+ */
+public class BitpayLoadGenerator {
+  /**
+   * The most latency samples kept, bounding the memory used by a single run.
+   */
+  private static final int MAX_SAMPLES = 10_000_000;
+
+  private final BitpayClient client;
+  private final Consumer<BitpayClient> operation;
+  private final double targetRps;
+  private final Duration duration;
+  private final int concurrency;
+  private final int queueCapacity;
+
+  /**
+   * Creates a load generator. Use {@link #builder()}.
+   *
+   * @param client the client under test
+   * @param operation the work done per operation; an exception counts as a failure
+   * @param targetRps the operations started per second
+   * @param duration how long operations are started for
+   * @param concurrency the number of worker threads; defaults to 64
+   * @param queueCapacity the operations that may wait for a worker before new ones are dropped;
+   *                      defaults to 10000
+   */
+  @Builder
+  private BitpayLoadGenerator(BitpayClient client, Consumer<BitpayClient> operation, double targetRps,
+                              Duration duration, int concurrency, int queueCapacity) {
+    if (client == null || operation == null) {
+      throw new IllegalArgumentException("Client and operation are required");
+    }
+    if (targetRps <= 0 || duration == null || duration.isNegative() || duration.isZero()) {
+      throw new IllegalArgumentException("A positive target rate and duration are required");
+    }
+    this.client = client;
+    this.operation = operation;
+    this.targetRps = targetRps;
+    this.duration = duration;
+    this.concurrency = concurrency > 0 ? concurrency : 64;
+    this.queueCapacity = queueCapacity > 0 ? queueCapacity : 10_000;
+  }
+
+  /**
+   * Runs the load test and waits for every started operation to finish.
+   *
+   * @return the throughput and latency report
+   * @throws InterruptedException if the calling thread is interrupted during the run
+   */
+  public BitpayLoadReport run() throws InterruptedException {
+    long expected = (long) Math.ceil(targetRps * duration.toNanos() / 1e9);
+    long[] latencies = new long[(int) Math.min(MAX_SAMPLES, expected + 1)];
+    AtomicInteger recorded = new AtomicInteger();
+    AtomicLong completed = new AtomicLong();
+    AtomicLong failed = new AtomicLong();
+    long dropped = 0;
+
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(concurrency, concurrency, 0, TimeUnit.MILLISECONDS,
+      new ArrayBlockingQueue<>(queueCapacity));
+    RatePacer pacer = new RatePacer(targetRps);
+    long start = System.nanoTime();
+    long end = start + duration.toNanos();
+    try {
+      long scheduled;
+      while ((scheduled = pacer.acquire()) < end) {
+        long intendedStart = scheduled;
+        try {
+          executor.execute(() -> {
+            try {
+              operation.accept(client);
+              completed.incrementAndGet();
+            } catch (RuntimeException e) {
+              failed.incrementAndGet();
+            }
+            int index = recorded.getAndIncrement();
+            if (index < latencies.length) {
+              latencies[index] = System.nanoTime() - intendedStart;
+            }
+          });
+        } catch (RejectedExecutionException e) {
+          dropped++;
+        }
+      }
+    } finally {
+      executor.shutdown();
+      executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+    Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+    long[] samples = Arrays.copyOf(latencies, Math.min(recorded.get(), latencies.length));
+    Arrays.sort(samples);
+    long finished = completed.get() + failed.get();
+    return new BitpayLoadReport(completed.get(), failed.get(), dropped, elapsed,
+      finished / (elapsed.toNanos() / 1e9),
+      percentile(samples, 0.50), percentile(samples, 0.99), percentile(samples, 0.999),
+      percentile(samples, 1.0));
+  }
+
+  private static Duration percentile(long[] sorted, double quantile) {
+    if (sorted.length == 0) {
+      return Duration.ZERO;
+    }
+    int index = (int) Math.ceil(quantile * sorted.length) - 1;
+    return Duration.ofNanos(sorted[Math.max(0, Math.min(sorted.length - 1, index))]);
+  }
+}
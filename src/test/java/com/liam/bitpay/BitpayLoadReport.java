@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Dr.Liam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package com.liam.bitpay;
+
+import java.time.Duration;
+
+/**
+ * The outcome of a {@link BitpayLoadGenerator} run.
+ * <p>
+ * Latencies are measured from each operation's scheduled start time rather than from
+ * the moment a worker picked it up, so time spent queued behind slow operations is
+ * included and percentiles are not hidden by coordinated omission.
+ *
+ * @param completed the number of operations that finished without an exception
+ * @param failed the number of operations that threw an exception
+ * @param dropped the number of operations that could not be queued because every worker was busy
+ * @param elapsed the wall-clock duration of the run
+ * @param throughput the completed and failed operations per second
+ * @param p50 the median latency
+ * @param p99 the 99th percentile latency
+ * @param p999 the 99.9th percentile latency
+ * @param max the largest latency observed
+ */
+public record BitpayLoadReport(
+  long completed,
+  long failed,
+  long dropped,
+  Duration elapsed,
+  double throughput,
+  Duration p50,
+  Duration p99,
+  Duration p999,
+  Duration max
+) {
+
+  @Override
+  public String toString() {
+    return String.format(
+      "completed=%d failed=%d dropped=%d elapsed=%dms throughput=%.1f/s p50=%.2fms p99=%.2fms p999=%.2fms max=%.2fms",
+      completed, failed, dropped, elapsed.toMillis(), throughput,
+      millis(p50), millis(p99), millis(p999), millis(max));
+  }
+
+  private static double millis(Duration duration) {
+    return duration.toNanos() / 1_000_000.0;
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Dr.Liam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package com.liam.bitpay;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+class BitpayLoggingInterceptorTest {
+
+  private static final Logger WIRE_LOG = (Logger) LoggerFactory.getLogger("com.liam.bitpay.wire");
+
+  private final BitpayLoggingInterceptor interceptor =
+    new BitpayLoggingInterceptor(1.0, List.of("api", "cardNum", "mobileNum"));
+  private final Level wireLevel = WIRE_LOG.getLevel();
+
+  @AfterEach
+  void restoreWireLevel() {
+    WIRE_LOG.setLevel(wireLevel);
+  }
+
+  private static ClientHttpResponse intercept(BitpayLoggingInterceptor interceptor, ClientHttpResponse response)
+    throws IOException {
+    MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.POST,
+      URI.create("https://bitpay.ir/payment/gateway-send"));
+    return interceptor.intercept(request, "api=secret".getBytes(StandardCharsets.UTF_8),
+      (req, body) -> response);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+    // sample rate, wire log level
+    "0.0          , DEBUG",
+    "1.0          , INFO",
+    "0.0          , INFO",
+  })
+  void passesUnloggedResponsesThroughUnbuffered(double sampleRate, String level) throws IOException {
+    WIRE_LOG.setLevel(Level.toLevel(level));
+    MockClientHttpResponse response = new MockClientHttpResponse("1".getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+
+    ClientHttpResponse returned = intercept(new BitpayLoggingInterceptor(sampleRate, List.of("api")), response);
+
+    assertThat(returned).isSameAs(response);
+  }
+
+  @Test
+  void buffersLoggedResponsesSoTheyCanStillBeRead() throws IOException {
+    WIRE_LOG.setLevel(Level.DEBUG);
+    MockClientHttpResponse response = new MockClientHttpResponse("1".getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+
+    ClientHttpResponse returned = intercept(interceptor, response);
+
+    assertThat(returned).isNotSameAs(response);
+    assertThat(StreamUtils.copyToString(returned.getBody(), StandardCharsets.UTF_8)).isEqualTo("1");
+  }
+
+  @ParameterizedTest
+  @CsvSource(delimiter = '|', value = {
+    // form bodies
+    "api=secret&amount=1000                     | api=****&amount=1000",
+    "amount=1000&api=secret                     | amount=1000&api=****",
+    "amount=1000&mobileNum=0912&cardNum=6037    | amount=1000&mobileNum=****&cardNum=****",
+    "api=&amount=1000                           | api=****&amount=1000",
+    "myapi=keep&apikey=keep                     | myapi=keep&apikey=keep",
+    "amount=1000&description=api%3Dx            | amount=1000&description=api%3Dx",
+    // JSON bodies
+    "{\"status\":1,\"cardNum\":\"6037-99\"}       | {\"status\":1,\"cardNum\":\"****\"}",
+    "{\"cardNum\" : \"6037\", \"amount\":1000}    | {\"cardNum\" : \"****\", \"amount\":1000}",
+    "{\"api\":12345}                              | {\"api\":\"****\"}",
+    "{\"cardNumber\":\"6037\"}                    | {\"cardNumber\":\"6037\"}",
+    "{\"status\":1}                               | {\"status\":1}",
+  })
+  void masksConfiguredFields(String body, String expected) {
+    assertThat(interceptor.mask(body.getBytes(StandardCharsets.UTF_8))).isEqualTo(expected);
+  }
+
+  @ParameterizedTest
+  @CsvSource(delimiter = '|', value = {
+    "1                                            | 1",
+    "''                                           | ''",
+  })
+  void leavesBodiesWithoutMaskedFieldsUnchanged(String body, String expected) {
+    assertThat(interceptor.mask(body.getBytes(StandardCharsets.UTF_8))).isEqualTo(expected);
+  }
+
+  @ParameterizedTest
+  @CsvSource(delimiter = '|', value = {
+    "a.b=secret&amount=1                          | a.b=****&amount=1",
+    "axb=keep                                     | axb=keep",
+  })
+  void quotesFieldNamesInPatterns(String body, String expected) {
+    BitpayLoggingInterceptor custom = new BitpayLoggingInterceptor(1.0, List.of("a.b"));
+    assertThat(custom.mask(body.getBytes(StandardCharsets.UTF_8))).isEqualTo(expected);
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Dr.Liam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package com.liam.bitpay;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Behaviour every {@link BitpayResultStore} implementation must share.
+ */
+abstract class BitpayResultStoreContractTest {
+
+  private static final Duration CLAIM_TTL = Duration.ofSeconds(30);
+
+  /**
+   * Creates an empty store.
+   *
+   * @param resultTtl how long completed results remain visible
+   * @return the store under test
+   */
+  abstract BitpayResultStore createStore(Duration resultTtl);
+
+  static BitpayGetResult result() {
+    return BitpayGetResult.builder()
+      .status(1)
+      .amount(10000)
+      .cardNum("603799******1234")
+      .factorId("F-1")
+      .build();
+  }
+
+  @Test
+  void claimIsExclusive() {
+    BitpayResultStore store = createStore(Duration.ofHours(1));
+
+    assertThat(store.claim("k", CLAIM_TTL)).isPresent();
+    assertThat(store.claim("k", CLAIM_TTL)).isEmpty();
+    assertThat(store.claim("other", CLAIM_TTL)).isPresent();
+  }
+
+  @Test
+  void claimsGetDistinctOwners() {
+    BitpayResultStore store = createStore(Duration.ofHours(1));
+
+    assertThat(store.claim("k1", CLAIM_TTL)).isNotEqualTo(store.claim("k2", CLAIM_TTL));
+  }
+
+  @Test
+  void completedResultIsVisible() {
+    BitpayResultStore store = createStore(Duration.ofHours(1));
+
+    assertThat(store.find("k")).isEmpty();
+    String owner = store.claim("k", CLAIM_TTL).orElseThrow();
+    assertThat(store.find("k")).isEmpty();
+
+    store.complete("k", owner, result());
+
+    assertThat(store.find("k")).contains(result());
+    assertThat(store.claim("k", CLAIM_TTL)).isEmpty();
+  }
+
+  @Test
+  void releasedClaimCanBeClaimedAgain() {
+    BitpayResultStore store = createStore(Duration.ofHours(1));
+    String owner = store.claim("k", CLAIM_TTL).orElseThrow();
+
+    store.release("k", owner);
+
+    assertThat(store.find("k")).isEmpty();
+    assertThat(store.claim("k", CLAIM_TTL)).isPresent();
+  }
+
+  @Test
+  void releaseKeepsCompletedResult() {
+    BitpayResultStore store = createStore(Duration.ofHours(1));
+    String owner = store.claim("k", CLAIM_TTL).orElseThrow();
+    store.complete("k", owner, result());
+
+    store.release("k", owner);
+
+    assertThat(store.find("k")).contains(result());
+  }
+
+  @Test
+  void expiredClaimIsTakenOver() throws InterruptedException {
+    BitpayResultStore store = createStore(Duration.ofHours(1));
+    assertThat(store.claim("k", Duration.ofMillis(1))).isPresent();
+
+    Thread.sleep(20);
+
+    assertThat(store.claim("k", CLAIM_TTL)).isPresent();
+    assertThat(store.claim("k", CLAIM_TTL)).isEmpty();
+  }
+
+  @Test
+  void lateReleaseDoesNotRemoveTheTakenOverClaim() throws InterruptedException {
+    BitpayResultStore store = createStore(Duration.ofHours(1));
+    String first = store.claim("k", Duration.ofMillis(1)).orElseThrow();
+    Thread.sleep(20);
+    String second = store.claim("k", CLAIM_TTL).orElseThrow();
+
+    store.release("k", first);
+
+    assertThat(store.claim("k", CLAIM_TTL)).isEmpty();
+    store.complete("k", second, result());
+    assertThat(store.find("k")).contains(result());
+  }
+
+  @Test
+  void lateCompleteDoesNotOverwriteTheTakenOverClaim() throws InterruptedException {
+    BitpayResultStore store = createStore(Duration.ofHours(1));
+    String first = store.claim("k", Duration.ofMillis(1)).orElseThrow();
+    Thread.sleep(20);
+    String second = store.claim("k", CLAIM_TTL).orElseThrow();
+
+    store.complete("k", first, BitpayGetResult.builder().status(1).amount(1).build());
+
+    assertThat(store.find("k")).isEmpty();
+    store.complete("k", second, result());
+    assertThat(store.find("k")).contains(result());
+  }
+
+  @Test
+  void completeDoesNotReplaceAStoredResult() {
+    BitpayResultStore store = createStore(Duration.ofHours(1));
+    String owner = store.claim("k", CLAIM_TTL).orElseThrow();
+    store.complete("k", owner, result());
+
+    store.complete("k", owner, BitpayGetResult.builder().status(1).amount(1).build());
+
+    assertThat(store.find("k")).contains(result());
+  }
+
+  @Test
+  void expiredResultIsNotServedAndCanBeClaimed() throws InterruptedException {
+    BitpayResultStore store = createStore(Duration.ofMillis(1));
+    String owner = store.claim("k", CLAIM_TTL).orElseThrow();
+    store.complete("k", owner, result());
+
+    Thread.sleep(20);
+
+    assertThat(store.find("k")).isEmpty();
+    assertThat(store.claim("k", CLAIM_TTL)).isPresent();
+    assertThat(store.find("k")).isEmpty();
+  }
+}
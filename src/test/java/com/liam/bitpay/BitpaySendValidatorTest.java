@@ -0,0 +1,186 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Dr.Liam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package com.liam.bitpay;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class BitpaySendValidatorTest {
+
+  private static final BitpaySendValidator DEFAULTS =
+    new BitpaySendValidator(BitpayProperties.Validation.defaults());
+
+  private static BitpaySend.BitpaySendBuilder send() {
+    return BitpaySend.builder()
+      .amount("10000")
+      .redirect("https://merchant.example/callback");
+  }
+
+  private static void assertValid(BitpaySendValidator validator, BitpaySend bitpaySend, boolean valid) {
+    if (valid) {
+      assertThatCode(() -> validator.validate(bitpaySend)).doesNotThrowAnyException();
+    } else {
+      assertThatIllegalArgumentException().isThrownBy(() -> validator.validate(bitpaySend));
+    }
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+    "1000                 , true",
+    "999                  , false",
+    "0                    , false",
+    "01000                , true",
+    "10000.0              , false",
+    "-1000                , false",
+    "'1 000'              , false",
+    "'10000 '             , false",
+    "۱۰۰۰۰                , false",
+    "999999999999999999   , true",  // 18 digits
+    "1000000000000000000  , true",  // 19 digits, still fits in a long
+    "9223372036854775807  , true",  // Long.MAX_VALUE
+    "9223372036854775808  , false", // Long.MAX_VALUE + 1
+    "99999999999999999999 , false", // 20 digits
+  })
+  void amount(String amount, boolean valid) {
+    assertValid(DEFAULTS, send().amount(amount).build(), valid);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+    // minAmount, maxAmount, amount, valid
+    "1000 , 50000 , 50000 , true",
+    "1000 , 50000 , 50001 , false",
+    "5000 , 0     , 4999  , false",
+    "0    , 0     , 0     , true",
+  })
+  void amountLimits(long minAmount, long maxAmount, String amount, boolean valid) {
+    BitpaySendValidator validator = new BitpaySendValidator(
+      new BitpayProperties.Validation(true, minAmount, maxAmount, true, true, true));
+
+    assertValid(validator, send().amount(amount).build(), valid);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+    "https://merchant.example/callback , true",
+    "http://merchant.example           , true",
+    "HTTPS://MERCHANT.EXAMPLE/cb       , true",
+    "http://127.0.0.1:8080/cb?x=1      , true",
+    "http://                           , false",
+    "https://                          , false",
+    "http:///callback                  , false",
+    "http://?x=1                       , false",
+    "http://#cb                        , false",
+    "http://:8080/cb                   , false",
+    "'https://merchant.example/a b'    , false",
+    "ftp://merchant.example            , false",
+    "merchant.example/callback         , false",
+    "/callback                         , false",
+    "javascript:alert(1)               , false",
+  })
+  void redirect(String redirect, boolean valid) {
+    assertValid(DEFAULTS, send().redirect(redirect).build(), valid);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+    "09121234567    , true",
+    "9121234567     , true",
+    "989121234567   , true",
+    "+989121234567  , true",
+    "9812345678     , true",  // bare number that starts with 98
+    "09812345678    , true",
+    "989812345678   , true",
+    "+989812345678  , true",
+    "98912123456    , false", // 98 prefix with a digit missing
+    "+98912123456   , false",
+    "0912123456     , false",
+    "091212345678   , false",
+    "08121234567    , false",
+    "8121234567     , false",
+    "+999121234567  , false",
+    "00989121234567 , false",
+    "0912-123-4567  , false",
+    "'0912 1234567' , false",
+  })
+  void mobileNumber(String mobileNum, boolean valid) {
+    assertValid(DEFAULTS, send().mobileNum(mobileNum).build(), valid);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+    "6037990000000006   , true",
+    "6037990000000007   , false", // Luhn check digit off by one
+    "4111111111111111   , true",
+    "411111111111111    , false", // 15 digits
+    "41111111111111111  , false", // 17 digits
+    "4111-1111-1111-1111, false",
+    "411111111111111a   , false",
+  })
+  void cardNumber(String cardNum, boolean valid) {
+    assertValid(DEFAULTS, send().cardNum(cardNum).build(), valid);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+    // validateRedirect, validateMobile, validateCard, valid
+    "true  , true  , true  , false",
+    "false , true  , true  , false",
+    "false , false , true  , false",
+    "false , false , false , true",
+  })
+  void individualRulesCanBeDisabled(boolean validateRedirect, boolean validateMobile, boolean validateCard,
+                                    boolean valid) {
+    BitpaySendValidator validator = new BitpaySendValidator(
+      new BitpayProperties.Validation(true, 1000, 0, validateRedirect, validateMobile, validateCard));
+    BitpaySend bitpaySend = send()
+      .redirect("merchant.example")
+      .mobileNum("12345")
+      .cardNum("1234")
+      .build();
+
+    assertValid(validator, bitpaySend, valid);
+  }
+
+  @Test
+  void disabledValidationOnlyRequiresAmountAndRedirect() {
+    BitpaySendValidator validator = new BitpaySendValidator(
+      new BitpayProperties.Validation(false, 1000, 0, true, true, true));
+
+    assertValid(validator, send().amount("abc").redirect("x").cardNum("1").build(), true);
+    assertValid(validator, send().amount(null).build(), false);
+    assertValid(validator, send().redirect("").build(), false);
+  }
+
+  @Test
+  void emptyOptionalFieldsAreNotChecked() {
+    assertValid(DEFAULTS, send().mobileNum("").cardNum("").build(), true);
+  }
+}
@@ -0,0 +1,422 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Dr.Liam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package com.liam.bitpay;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.Builder;
+
+/**
+ * A local simulator of the Bitpay gateway, for integration and load testing
+ * without reaching bitpay.ir.
+ * <p>
+ * The simulator serves the same endpoints as the real gateway:
+ * <ul>
+ *   <li>{@code POST /payment/gateway-send} returns a positive payment ID, or one of the
+ *       {@link BitpaySendErrorCodes} for invalid or error-injected requests.</li>
+ *   <li>{@code POST /payment/gateway-result-second} returns the JSON payment result, with
+ *       {@code status} set to 1 or to one of the {@link BitpayGetErrorCodes}.</li>
+ *   <li>{@code GET /payment/gateway-{id}-get} plays the payment page and redirects the browser
+ *       to the payment's redirect URL with {@code trans_id} and {@code id_get} parameters.</li>
+ * </ul>
+ * Every API response is delayed by the configured latency distribution, and a configurable
+ * fraction of responses is stalled or answered with an injected error code, so pools,
+ * timeouts and resilience settings can be validated offline.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * try (BitpaySimulator simulator = BitpaySimulator.builder()
+ *     .latency(BitpaySimulator.logNormalLatency(Duration.ofMillis(80), 0.5))
+ *     .sendErrorRate(0.01)
+ *     .build()
+ *     .start()) {
+ *   // point bitpay.base-url at simulator.baseUrl()
+ * }
+ * }</pre>
+ */
+public class BitpaySimulator implements AutoCloseable {
+  private static final String SEND_PATH = "/payment/gateway-send";
+  private static final String RESULT_PATH = "/payment/gateway-result-second";
+  private static final Pattern REDIRECT_PATH = Pattern.compile("/payment/gateway-(\\d+)-get");
+  private static final int MIN_AMOUNT = 1000;
+  private static final int SUCCESS = 1;
+
+  private final int port;
+  private final String apiKey;
+  private final Supplier<Duration> latency;
+  private final double sendErrorRate;
+  private final List<Integer> sendErrorCodes;
+  private final double getErrorRate;
+  private final List<Integer> getErrorCodes;
+  private final double stallRate;
+  private final Duration stallDuration;
+  private final int threads;
+  private final boolean tcpNoDelay;
+
+  private final AtomicInteger nextPaymentId = new AtomicInteger(1);
+  private final AtomicInteger nextTransId = new AtomicInteger(1);
+  private final Map<Integer, Payment> payments = new ConcurrentHashMap<>();
+
+  private HttpServer server;
+  private ExecutorService executor;
+
+  /**
+   * Creates a simulator. Use {@link #builder()}; every setting is optional.
+   *
+   * @param port the port to listen on, or 0 for an ephemeral port
+   * @param apiKey the only accepted API key, or {@code null} to accept any non-empty key
+   * @param latency the distribution of response delays; defaults to no delay
+   * @param sendErrorRate the fraction of valid send requests answered with an injected error
+   * @param sendErrorCodes the codes injected into send responses; defaults to all send error codes
+   * @param getErrorRate the fraction of result requests answered with an injected error status
+   * @param getErrorCodes the statuses injected into result responses; defaults to all get error codes
+   * @param stallRate the fraction of API requests stalled for {@code stallDuration} before responding
+   * @param stallDuration how long stalled requests are held; defaults to 30 seconds
+   * @param threads the number of request handling threads; defaults to 200
+   * @param tcpNoDelay whether to set the JVM-wide {@code sun.net.httpserver.nodelay} property
+   *                   on {@link #start()}, see {@link #start()}
+   */
+  @Builder
+  private BitpaySimulator(int port, String apiKey, Supplier<Duration> latency,
+                          double sendErrorRate, List<Integer> sendErrorCodes,
+                          double getErrorRate, List<Integer> getErrorCodes,
+                          double stallRate, Duration stallDuration, int threads,
+                          boolean tcpNoDelay) {
+    this.port = port;
+    this.apiKey = apiKey;
+    this.latency = latency != null ? latency : fixedLatency(Duration.ZERO);
+    this.sendErrorRate = sendErrorRate;
+    this.sendErrorCodes = sendErrorCodes != null && !sendErrorCodes.isEmpty() ? sendErrorCodes : List.of(
+      BitpaySendErrorCodes.INVALID_API_KEY, BitpaySendErrorCodes.INVALID_AMOUNT,
+      BitpaySendErrorCodes.INVALID_REDIRECT, BitpaySendErrorCodes.INVALID_GATEWAY,
+      BitpaySendErrorCodes.GATEWAY_ERROR);
+    this.getErrorRate = getErrorRate;
+    this.getErrorCodes = getErrorCodes != null && !getErrorCodes.isEmpty() ? getErrorCodes : List.of(
+      BitpayGetErrorCodes.INVALID_API_KEY, BitpayGetErrorCodes.INVALID_TRANS_ID,
+      BitpayGetErrorCodes.INVALID_ID_GET, BitpayGetErrorCodes.FACTOR_ID_NOTFOUND_OR_FAILED);
+    this.stallRate = stallRate;
+    this.stallDuration = stallDuration != null ? stallDuration : Duration.ofSeconds(30);
+    this.threads = threads > 0 ? threads : 200;
+    this.tcpNoDelay = tcpNoDelay;
+  }
+
+  /**
+   * A latency distribution that always returns the same delay.
+   *
+   * @param delay the delay of every response
+   * @return the latency distribution
+   */
+  public static Supplier<Duration> fixedLatency(Duration delay) {
+    return () -> delay;
+  }
+
+  /**
+   * A latency distribution with delays spread uniformly between two bounds.
+   *
+   * @param min the smallest delay
+   * @param max the largest delay
+   * @return the latency distribution
+   */
+  public static Supplier<Duration> uniformLatency(Duration min, Duration max) {
+    long minNanos = min.toNanos();
+    long spread = max.toNanos() - minNanos;
+    return () -> Duration.ofNanos(minNanos + (spread > 0 ? ThreadLocalRandom.current().nextLong(spread + 1) : 0));
+  }
+
+  /**
+   * A log-normal latency distribution, which models the long right tail of real
+   * network latency better than a uniform one.
+   *
+   * @param median the median delay
+   * @param sigma the standard deviation of the underlying normal distribution; 0.5 gives a
+   *              p99 of roughly three times the median
+   * @return the latency distribution
+   */
+  public static Supplier<Duration> logNormalLatency(Duration median, double sigma) {
+    double mu = Math.log(median.toNanos());
+    return () -> Duration.ofNanos((long) Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian()));
+  }
+
+  /**
+   * Returns a load-test operation that runs a full checkout against this simulator:
+   * a {@code send} with synthetic payment data followed by a {@code get} for the
+   * transaction the simulator assigned to it.
+   *
+   * @return an operation suitable for {@link BitpayLoadGenerator}
+   */
+  public Consumer<BitpayClient> checkoutOperation() {
+    return client -> {
+      SendResult sent = client.send(BitpaySend.builder()
+        .amount("10000")
+        .redirect("https://merchant.example/callback")
+        .factorId("LOAD-" + ThreadLocalRandom.current().nextLong(Long.MAX_VALUE))
+        .build());
+      Payment payment = payments.get(sent.getResult());
+      if (payment == null) {
+        throw new IllegalStateException("Payment was not created: " + sent.getResult());
+      }
+      BitpayGetResult result = client.get(BitpayGet.builder()
+        .transId(String.valueOf(payment.transId()))
+        .idGet(String.valueOf(sent.getResult()))
+        .factorId(payment.factorId())
+        .build());
+      if (result.getStatus() != SUCCESS) {
+        throw new IllegalStateException("Payment was not verified: " + result.getStatus());
+      }
+    };
+  }
+
+  /**
+   * Starts listening on the loopback interface.
+   * <p>
+   * Without TCP_NODELAY the JDK server's separate header and body writes can hit the
+   * delayed-ACK timer, adding about 40 ms to every response. When built with
+   * {@code tcpNoDelay(true)}, the {@code sun.net.httpserver.nodelay} system property is set
+   * here unless it already has a value. The property is JVM-wide and is only read when the
+   * first {@link HttpServer} of the JVM is created.
+   *
+   * @return this simulator
+   * @throws IOException if the server socket cannot be bound
+   */
+  public BitpaySimulator start() throws IOException {
+    if (tcpNoDelay && System.getProperty("sun.net.httpserver.nodelay") == null) {
+      System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+    executor = Executors.newFixedThreadPool(threads);
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+    server.setExecutor(executor);
+    server.createContext("/", exchange -> {
+      try (exchange) {
+        handle(exchange);
+      }
+    });
+    server.start();
+    return this;
+  }
+
+  /**
+   * Returns the base URL of the running simulator, suitable for {@code bitpay.base-url}.
+   *
+   * @return the base URL, for example {@code http://127.0.0.1:54321}
+   * @throws IllegalStateException if the simulator has not been started
+   */
+  public String baseUrl() {
+    if (server == null) {
+      throw new IllegalStateException("Simulator is not started");
+    }
+    return "http://127.0.0.1:" + server.getAddress().getPort();
+  }
+
+  /**
+   * Stops the simulator, abandoning stalled requests.
+   */
+  @Override
+  public void close() {
+    if (server != null) {
+      server.stop(0);
+      executor.shutdownNow();
+      try {
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    String path = exchange.getRequestURI().getPath();
+    String method = exchange.getRequestMethod();
+
+    if ("POST".equals(method) && SEND_PATH.equals(path)) {
+      delay();
+      respond(exchange, 200, "text/html", String.valueOf(send(readForm(exchange))));
+      return;
+    }
+    if ("POST".equals(method) && RESULT_PATH.equals(path)) {
+      delay();
+      respond(exchange, 200, "application/json", result(readForm(exchange)));
+      return;
+    }
+    Matcher matcher = REDIRECT_PATH.matcher(path);
+    if ("GET".equals(method) && matcher.matches()) {
+      redirect(exchange, Integer.parseInt(matcher.group(1)));
+      return;
+    }
+    respond(exchange, 404, "text/plain", "Not Found");
+  }
+
+  private int send(Map<String, String> form) {
+    if (!isValidApiKey(form.get("api"))) {
+      return BitpaySendErrorCodes.INVALID_API_KEY;
+    }
+    int amount = parseAmount(form.get("amount"));
+    if (amount < MIN_AMOUNT) {
+      return BitpaySendErrorCodes.INVALID_AMOUNT;
+    }
+    String redirect = form.get("redirect");
+    if (redirect == null || !(redirect.startsWith("http://") || redirect.startsWith("https://"))) {
+      return BitpaySendErrorCodes.INVALID_REDIRECT;
+    }
+    if (inject(sendErrorRate)) {
+      return pick(sendErrorCodes);
+    }
+
+    int id = nextPaymentId.getAndIncrement();
+    payments.put(id, new Payment(amount, redirect, form.get("factorId"), nextTransId.getAndIncrement()));
+    return id;
+  }
+
+  private String result(Map<String, String> form) {
+    int status;
+    Payment payment = payments.get(parseAmount(form.get("id_get")));
+    if (!isValidApiKey(form.get("api"))) {
+      status = BitpayGetErrorCodes.INVALID_API_KEY;
+    } else if (payment == null) {
+      status = BitpayGetErrorCodes.INVALID_ID_GET;
+    } else if (!String.valueOf(payment.transId()).equals(form.get("trans_id"))) {
+      status = BitpayGetErrorCodes.INVALID_TRANS_ID;
+    } else if (inject(getErrorRate)) {
+      status = pick(getErrorCodes);
+    } else {
+      status = SUCCESS;
+    }
+
+    if (status != SUCCESS) {
+      return "{\"status\":" + status + "}";
+    }
+    return "{\"status\":" + SUCCESS
+      + ",\"amount\":" + payment.amount()
+      + ",\"cardNum\":\"603799******1234\""
+      + ",\"factorId\":" + (payment.factorId() != null ? "\"" + jsonEscape(payment.factorId()) + "\"" : "null")
+      + "}";
+  }
+
+  private void redirect(HttpExchange exchange, int id) throws IOException {
+    Payment payment = payments.get(id);
+    if (payment == null) {
+      respond(exchange, 404, "text/plain", "Unknown payment");
+      return;
+    }
+    String location = payment.redirect()
+      + (payment.redirect().contains("?") ? "&" : "?")
+      + "trans_id=" + payment.transId()
+      + "&id_get=" + id;
+    exchange.getResponseHeaders().set("Location", location);
+    respond(exchange, 302, "text/html", "<a href=\"" + location + "\">Continue</a>");
+  }
+
+  private void delay() {
+    Duration delay = inject(stallRate) ? stallDuration : latency.get();
+    if (delay.isZero() || delay.isNegative()) {
+      return;
+    }
+    try {
+      TimeUnit.NANOSECONDS.sleep(delay.toNanos());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private boolean isValidApiKey(String key) {
+    return key != null && !key.isEmpty() && (apiKey == null || apiKey.equals(key));
+  }
+
+  private static boolean inject(double rate) {
+    return rate > 0 && ThreadLocalRandom.current().nextDouble() < rate;
+  }
+
+  private static int pick(List<Integer> codes) {
+    return codes.get(ThreadLocalRandom.current().nextInt(codes.size()));
+  }
+
+  private static int parseAmount(String value) {
+    try {
+      return value != null ? Integer.parseInt(value) : -1;
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  private static String jsonEscape(String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"");
+  }
+
+  private static Map<String, String> readForm(HttpExchange exchange) throws IOException {
+    Map<String, String> form = new HashMap<>();
+    String body;
+    try (InputStream in = exchange.getRequestBody()) {
+      body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+    for (String pair : body.split("&")) {
+      int eq = pair.indexOf('=');
+      if (eq > 0) {
+        form.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+          URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+      }
+    }
+    return form;
+  }
+
+  private static void respond(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+    if ("HEAD".equals(exchange.getRequestMethod())) {
+      exchange.sendResponseHeaders(status, -1);
+      return;
+    }
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+
+  /**
+   * A payment created through the simulated {@code gateway-send}.
+   */
+  private record Payment(int amount, String redirect, String factorId, int transId) {
+  }
+}
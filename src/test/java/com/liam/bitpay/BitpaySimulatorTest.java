@@ -0,0 +1,60 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Dr.Liam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package com.liam.bitpay;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+class BitpaySimulatorTest {
+
+  @Test
+  void checkoutRunsAgainstSimulator() throws Exception {
+    try (BitpaySimulator simulator = BitpaySimulator.builder()
+      .apiKey("key")
+      .threads(4)
+      .build()
+      .start()) {
+      BitpayClient client = new BitpayClient(RestClient.builder().baseUrl(simulator.baseUrl()).build(),
+        "key", simulator.baseUrl());
+
+      BitpayLoadReport report = BitpayLoadGenerator.builder()
+        .client(client)
+        .operation(simulator.checkoutOperation())
+        .targetRps(20)
+        .duration(Duration.ofMillis(500))
+        .concurrency(4)
+        .build()
+        .run();
+
+      assertThat(report.completed()).isPositive();
+      assertThat(report.failed()).isZero();
+    }
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Dr.Liam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package com.liam.bitpay;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BitpayWarmupTest {
+
+  @Test
+  void warmupRecordsNoGatewayEvents(@TempDir Path dir) throws Exception {
+    StubGateway gateway = new StubGateway(Duration.ZERO);
+    BitpayWarmup warmup = new BitpayWarmup(gateway.restClient(),
+      List.of("https://a.test", "https://b.test"),
+      new BitpayProperties.Warmup(true, 0, 20, Duration.ofSeconds(10)),
+      new BitpayProperties.Validation(true, 50000, 0, true, true, true),
+      BitpayProperties.Routing.defaults());
+    BitpayClient client = new BitpayClient(gateway.restClient(), "key", "https://bitpay.ir");
+
+    List<RecordedEvent> events;
+    try (Recording recording = new Recording()) {
+      recording.enable(BitpayGatewayEvent.class);
+      recording.start();
+      warmup.run(null);
+      client.get(BitpayGet.builder().transId("1").idGet("1").factorId("F-1").build());
+      recording.stop();
+      Path file = dir.resolve("warmup.jfr");
+      recording.dump(file);
+      events = RecordingFile.readAllEvents(file);
+    }
+
+    // Only the real call is recorded; the warmup client never reaches the gateway stub either.
+    assertThat(events)
+      .filteredOn(event -> event.getEventType().getName().equals("com.liam.bitpay.GatewayCall"))
+      .singleElement()
+      .satisfies(event -> assertThat(event.getString("factorId")).isEqualTo("F-1"));
+    assertThat(gateway.sendCalls).hasValue(0);
+    assertThat(gateway.resultCalls).hasValue(1);
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Dr.Liam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package com.liam.bitpay;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class JdbcBitpayResultStoreTest extends BitpayResultStoreContractTest {
+
+  private static final Duration CLAIM_TTL = Duration.ofSeconds(30);
+
+  private EmbeddedDatabase database;
+
+  @BeforeEach
+  void createDatabase() {
+    database = new EmbeddedDatabaseBuilder()
+      .setType(EmbeddedDatabaseType.H2)
+      .generateUniqueName(true)
+      .build();
+  }
+
+  @AfterEach
+  void shutdownDatabase() {
+    database.shutdown();
+  }
+
+  @Override
+  BitpayResultStore createStore(Duration resultTtl) {
+    JdbcBitpayResultStore store = new JdbcBitpayResultStore(database, "bitpay_result", resultTtl);
+    store.initializeSchema();
+    return store;
+  }
+
+  @Test
+  void storesAreSharedThroughTheDatabase() {
+    BitpayResultStore node1 = createStore(Duration.ofHours(1));
+    BitpayResultStore node2 = createStore(Duration.ofHours(1));
+
+    String owner = node1.claim("k", CLAIM_TTL).orElseThrow();
+    assertThat(node2.claim("k", CLAIM_TTL)).isEmpty();
+
+    node1.complete("k", owner, result());
+
+    assertThat(node2.find("k")).contains(result());
+  }
+
+  @Test
+  void claimInsideCallerTransactionIsCommittedImmediately() throws Exception {
+    BitpayResultStore node1 = createStore(Duration.ofHours(1));
+    BitpayResultStore node2 = createStore(Duration.ofHours(1));
+    TransactionTemplate callerTransaction = new TransactionTemplate(new DataSourceTransactionManager(database));
+
+    callerTransaction.executeWithoutResult(status -> {
+      assertThat(node1.claim("k", CLAIM_TTL)).isPresent();
+
+      // Another node must see the claim while the caller's transaction is still open.
+      Optional<String> otherNodeClaim = CompletableFuture.supplyAsync(() -> node2.claim("k", CLAIM_TTL))
+        .orTimeout(5, TimeUnit.SECONDS)
+        .join();
+      assertThat(otherNodeClaim).isEmpty();
+
+      status.setRollbackOnly();
+    });
+
+    assertThat(node2.claim("k", CLAIM_TTL)).isEmpty();
+  }
+
+  @Test
+  void lostClaimDoesNotAbortCallerTransaction() {
+    BitpayResultStore node1 = createStore(Duration.ofHours(1));
+    BitpayResultStore node2 = createStore(Duration.ofHours(1));
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+    jdbcTemplate.execute("CREATE TABLE donation (id INT PRIMARY KEY)");
+    TransactionTemplate callerTransaction = new TransactionTemplate(new DataSourceTransactionManager(database));
+    node1.claim("k", CLAIM_TTL);
+
+    callerTransaction.executeWithoutResult(status -> {
+      jdbcTemplate.update("INSERT INTO donation (id) VALUES (1)");
+      assertThat(node2.claim("k", CLAIM_TTL)).isEmpty();
+      assertThat(status.isRollbackOnly()).isFalse();
+      jdbcTemplate.update("INSERT INTO donation (id) VALUES (2)");
+    });
+
+    assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM donation", Integer.class)).isEqualTo(2);
+  }
+}
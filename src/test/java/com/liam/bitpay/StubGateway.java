@@ -0,0 +1,124 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Dr.Liam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package com.liam.bitpay;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RestClient;
+
+/**
+ * An in-process {@link ClientHttpRequestFactory} that answers every gateway call with a
+ * fixed body after a fixed delay, and counts the calls per endpoint. Calls whose body contains
+ * the configured fragment time out after reaching the stub, like a lost gateway response.
+ */
+class StubGateway implements ClientHttpRequestFactory {
+  final AtomicInteger sendCalls = new AtomicInteger();
+  final AtomicInteger resultCalls = new AtomicInteger();
+  /**
+   * The {@link System#nanoTime()} reading at the start of every send call.
+   */
+  final List<Long> sendTimes = new CopyOnWriteArrayList<>();
+
+  private final Duration latency;
+  private volatile String sendBody = "1";
+  private volatile String timeoutFragment;
+  private volatile String resultBody =
+    "{\"status\":1,\"amount\":10000,\"cardNum\":\"603799******1234\",\"factorId\":\"F-1\"}";
+
+  StubGateway(Duration latency) {
+    this.latency = latency;
+  }
+
+  StubGateway sendBody(String body) {
+    this.sendBody = body;
+    return this;
+  }
+
+  StubGateway resultBody(String body) {
+    this.resultBody = body;
+    return this;
+  }
+
+  StubGateway timeoutWhen(String bodyFragment) {
+    this.timeoutFragment = bodyFragment;
+    return this;
+  }
+
+  RestClient restClient() {
+    return RestClient.builder()
+      .baseUrl("http://gateway.test")
+      .requestFactory(this)
+      .build();
+  }
+
+  @Override
+  public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) {
+    boolean result = uri.getPath().endsWith("/payment/gateway-result-second");
+    if (result) {
+      resultCalls.incrementAndGet();
+    } else {
+      sendCalls.incrementAndGet();
+      sendTimes.add(System.nanoTime());
+    }
+    try {
+      Thread.sleep(latency.toMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    byte[] body = (result ? resultBody : sendBody).getBytes(StandardCharsets.UTF_8);
+    MockClientHttpResponse response = new MockClientHttpResponse(body, HttpStatus.OK);
+    response.getHeaders().setContentType(result ? MediaType.APPLICATION_JSON : MediaType.TEXT_HTML);
+    response.getHeaders().setContentLength(body.length);
+    MockClientHttpRequest request = new MockClientHttpRequest(httpMethod, uri) {
+      @Override
+      protected ClientHttpResponse executeInternal() throws IOException {
+        String fragment = timeoutFragment;
+        if (fragment != null && getBodyAsString().contains(fragment)) {
+          throw new SocketTimeoutException("Read timed out");
+        }
+        return super.executeInternal();
+      }
+    };
+    request.setResponse(response);
+    return request;
+  }
+}